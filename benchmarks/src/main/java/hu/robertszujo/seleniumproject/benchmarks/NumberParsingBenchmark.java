@@ -0,0 +1,39 @@
+package hu.robertszujo.seleniumproject.benchmarks;
+
+import hu.robertszujo.seleniumproject.utils.NumberParsing;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the amounts and APRs read from the offer boxes, including the texts that are not numbers
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumberParsingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class AmountText {
+        @Param({"48 300 000 Ft", "4 400 000 Ft", ""})
+        public String text;
+    }
+
+    @State(Scope.Benchmark)
+    public static class AprText {
+        @Param({"6,49", " 6,99 ", "-"})
+        public String text;
+    }
+
+    @Benchmark
+    public int parseAmount(AmountText amount) {
+        return NumberParsing.parseAmount(amount.text);
+    }
+
+    @Benchmark
+    public double parseDecimal(AprText apr) {
+        return NumberParsing.parseDecimal(apr.text);
+    }
+}
@@ -0,0 +1,41 @@
+package hu.robertszujo.seleniumproject.benchmarks;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import hu.robertszujo.seleniumproject.pages.LoanCalculatorPage;
+import hu.robertszujo.seleniumproject.pages.components.CookiePopup;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Page object construction, which is dominated by {@code PageFactory.initElements} creating a proxy per field
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageFactoryBenchmark {
+
+    private StubWebDriver driver;
+    private ExtentTest reporter;
+
+    @Setup
+    public void setUp() {
+        driver = new StubWebDriver(new byte[0]);
+        // No reporter attached, nothing is ever written
+        reporter = new ExtentReports().createTest("PageFactory benchmark");
+    }
+
+    @Benchmark
+    public LoanCalculatorPage initLoanCalculatorPage() {
+        return new LoanCalculatorPage(driver, reporter);
+    }
+
+    @Benchmark
+    public CookiePopup initCookiePopup() {
+        return new CookiePopup(driver, reporter);
+    }
+}
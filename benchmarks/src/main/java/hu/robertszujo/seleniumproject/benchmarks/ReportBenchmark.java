@@ -0,0 +1,81 @@
+package hu.robertszujo.seleniumproject.benchmarks;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Building an Extent report of a whole suite and flushing it into a Spark HTML report.
+ * Every test gets the handful of log entries a typical calculator test writes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReportBenchmark {
+
+    @Param({"1000", "10000"})
+    public int testCount;
+
+    private Path reportFolder;
+
+    @Setup(Level.Trial)
+    public void createReportFolder() throws IOException {
+        reportFolder = Files.createTempDirectory("report-benchmark");
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteReportFolder() throws IOException {
+        try (Stream<Path> files = Files.walk(reportFolder)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    /**
+     * flush() is measured on its own, on a report built outside of the measurement
+     */
+    @State(Scope.Benchmark)
+    public static class BuiltReport {
+        private ExtentReports report;
+
+        @Setup(Level.Invocation)
+        public void build(ReportBenchmark benchmark) {
+            report = benchmark.buildReport(benchmark.testCount);
+        }
+    }
+
+    @Benchmark
+    public ExtentReports build() {
+        return buildReport(testCount);
+    }
+
+    @Benchmark
+    public void flush(BuiltReport builtReport) {
+        builtReport.report.flush();
+    }
+
+    ExtentReports buildReport(int tests) {
+        ExtentReports report = new ExtentReports();
+        report.attachReporter(new ExtentSparkReporter(reportFolder.resolve("Report_" + tests + ".html").toFile()));
+        for (int i = 0; i < tests; i++) {
+            ExtentTest test = report.createTest("calculatorScenario " + i, "Data-driven calculator scenario");
+            test.info("Filling calculator form with: LoanScenario[age=30, propertyValue=" + (5_000_000 + i) + "]");
+            test.pass("Calculator form filled");
+            test.info("Clicking on 'Mennyi lakáshitelt kaphatok?' button");
+            test.pass("Clicked calculate loan button");
+            test.info("WebDriver round trips: 12, waiting for the browser: 340 ms");
+            if (i % 10 == 0) test.fail("Expected loan amount between 4400000 and 4400000 but got 0");
+        }
+        return report;
+    }
+}
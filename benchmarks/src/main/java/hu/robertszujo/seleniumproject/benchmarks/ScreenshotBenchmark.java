@@ -0,0 +1,49 @@
+package hu.robertszujo.seleniumproject.benchmarks;
+
+import hu.robertszujo.seleniumproject.constants.ReportConstants;
+import hu.robertszujo.seleniumproject.utils.WebDriverUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PNG to JPEG transcoding of screenshots, as done for every non-Chromium session
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScreenshotBenchmark {
+
+    @Param({"1366x768", "1920x1080"})
+    public String resolution;
+
+    private StubWebDriver driver;
+    private byte[] png;
+
+    @Setup
+    public void setUp() throws IOException {
+        String[] size = resolution.split("x");
+        png = Screenshots.pagePng(Integer.parseInt(size[0]), Integer.parseInt(size[1]));
+        driver = new StubWebDriver(png);
+    }
+
+    @Benchmark
+    public String captureScreenshotAsBase64() throws IOException {
+        return WebDriverUtils.captureScreenshotAsBase64(driver);
+    }
+
+    // Same settings as the screenshot pipeline
+    @Benchmark
+    public byte[] toJpegWithReportSettings() throws IOException {
+        return WebDriverUtils.toJpeg(png, ReportConstants.SCREENSHOT_JPEG_QUALITY, ReportConstants.SCREENSHOT_MAX_WIDTH);
+    }
+
+    @Benchmark
+    public byte[] toJpegThumbnail() throws IOException {
+        return WebDriverUtils.toJpeg(png, ReportConstants.SCREENSHOT_JPEG_QUALITY, 480);
+    }
+}
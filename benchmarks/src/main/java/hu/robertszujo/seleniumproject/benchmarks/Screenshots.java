@@ -0,0 +1,42 @@
+package hu.robertszujo.seleniumproject.benchmarks;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Synthetic page screenshots: flat backgrounds, boxes and text, roughly how a browser screenshot compresses
+ */
+final class Screenshots {
+
+    private Screenshots() {
+    }
+
+    /**
+     * @return The same PNG for the same size on every run, so results are comparable between commits
+     */
+    static byte[] pagePng(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, width, height);
+
+        Random random = new Random(42);
+        graphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 14));
+        for (int y = 20; y < height; y += 48) {
+            graphics.setColor(new Color(random.nextInt(0xFFFFFF)));
+            graphics.fillRoundRect(random.nextInt(width / 2), y, 80 + random.nextInt(width / 2), 32, 8, 8);
+            graphics.setColor(Color.DARK_GRAY);
+            graphics.drawString("Mennyi lakáshitelt kaphatok? " + random.nextInt(100_000_000) + " Ft", 24, y + 22);
+        }
+        graphics.dispose();
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+        return png.toByteArray();
+    }
+}
@@ -0,0 +1,94 @@
+package hu.robertszujo.seleniumproject.benchmarks;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * WebDriver that never talks to a browser, so benchmarks only measure the framework side.
+ * Screenshots return a fixed PNG; element lookups find nothing.
+ */
+public class StubWebDriver implements WebDriver, TakesScreenshot {
+
+    private final byte[] screenshotPng;
+
+    /**
+     * @param screenshotPng Returned by every {@link #getScreenshotAs(OutputType)} call
+     */
+    public StubWebDriver(byte[] screenshotPng) {
+        this.screenshotPng = screenshotPng;
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        return target.convertFromPngBytes(screenshotPng);
+    }
+
+    @Override
+    public void get(String url) {
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        return "about:blank";
+    }
+
+    @Override
+    public String getTitle() {
+        return "";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return List.of();
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        throw new NoSuchElementException("Stub driver has no elements: " + by);
+    }
+
+    @Override
+    public String getPageSource() {
+        return "";
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void quit() {
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        return Set.of(getWindowHandle());
+    }
+
+    @Override
+    public String getWindowHandle() {
+        return "stub";
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        throw new UnsupportedOperationException("Stub driver cannot switch windows");
+    }
+
+    @Override
+    public Navigation navigate() {
+        throw new UnsupportedOperationException("Stub driver cannot navigate");
+    }
+
+    @Override
+    public Options manage() {
+        throw new UnsupportedOperationException("Stub driver has no options");
+    }
+}
@@ -0,0 +1,25 @@
+package hu.robertszujo.seleniumproject;
+
+import hu.robertszujo.seleniumproject.context.TestSession;
+import hu.robertszujo.seleniumproject.context.TestSessions;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+
+/**
+ * Reports a passed test as skipped if every calculation it asserted on came from the result cache:
+ * it checked nothing on the page in this run. Runs before {@link TestListener} reports the outcome.
+ */
+public class CachedResultListener implements IInvokedMethodListener {
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (!method.isTestMethod() || result.getStatus() != ITestResult.SUCCESS) return;
+        TestSession session = TestSessions.of(result);
+        if (session == null || !session.hasOnlyCachedCalculations()) return;
+
+        result.setStatus(ITestResult.SKIP);
+        result.setThrowable(new SkipException("Cached: every calculation passed against the same page in an earlier run"));
+    }
+}
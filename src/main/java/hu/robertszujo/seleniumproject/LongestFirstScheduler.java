@@ -0,0 +1,88 @@
+package hu.robertszujo.seleniumproject;
+
+import hu.robertszujo.seleniumproject.constants.SchedulingConstants;
+import hu.robertszujo.seleniumproject.scheduling.DurationHistory;
+import org.testng.IDataProviderMethod;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Orders the test methods longest-processing-time-first by their recorded durations, so long tests do not
+ * start last and the parallel threads finish together. Records the durations of the run when the test finishes.
+ * <p>
+ * Methods without history are treated as average length; without any history the TestNG order is kept.
+ */
+public class LongestFirstScheduler implements IMethodInterceptor, ITestListener {
+
+    private DurationHistory history;
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!SchedulingConstants.LONGEST_FIRST) return methods;
+
+        DurationHistory durations = history();
+        long averageMillis = Math.round(durations.getAll().values().stream().mapToLong(Long::longValue).average().orElse(0));
+        // Stable sort, methods of equal length keep their TestNG order
+        return methods.stream()
+                .sorted(Comparator.comparingLong((IMethodInstance method) ->
+                        durations.getMillis(method.getMethod().getQualifiedName()).orElse(averageMillis)).reversed())
+                .toList();
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        Map<String, Long> runMillis = new HashMap<>();
+        Map<String, Integer> invocations = new HashMap<>();
+        Map<String, ITestNGMethod> methods = new HashMap<>();
+        Stream.of(context.getPassedTests(), context.getFailedTests(), context.getFailedButWithinSuccessPercentageTests())
+                .flatMap(results -> results.getAllResults().stream())
+                .forEach(result -> {
+                    String name = result.getMethod().getQualifiedName();
+                    runMillis.merge(name, durationOf(result), Long::sum);
+                    invocations.merge(name, 1, Integer::sum);
+                    methods.putIfAbsent(name, result.getMethod());
+                });
+
+        DurationHistory durations = history();
+        int dataProviderThreads = context.getSuite().getXmlSuite().getDataProviderThreadCount();
+        runMillis.forEach((name, millis) ->
+                durations.record(name, millis / parallelism(methods.get(name), invocations.get(name), dataProviderThreads)));
+        try {
+            durations.save();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write test duration history " + SchedulingConstants.DURATION_HISTORY_FILE, e);
+        }
+    }
+
+    /**
+     * @return Invocations of the method that ran at the same time, 1 unless its data provider is parallel
+     */
+    private static int parallelism(ITestNGMethod method, int invocations, int dataProviderThreads) {
+        IDataProviderMethod dataProvider = method.isDataDriven() ? method.getDataProviderMethod() : null;
+        if (dataProvider == null || !dataProvider.isParallel()) return 1;
+        return Math.max(1, Math.min(invocations, dataProviderThreads));
+    }
+
+    private static long durationOf(ITestResult result) {
+        return Math.max(0, result.getEndMillis() - result.getStartMillis());
+    }
+
+    private synchronized DurationHistory history() {
+        if (history == null) {
+            history = DurationHistory.load(SchedulingConstants.DURATION_HISTORY_FILE, SchedulingConstants.DURATION_SMOOTHING);
+        }
+        return history;
+    }
+}
@@ -0,0 +1,57 @@
+package hu.robertszujo.seleniumproject;
+
+import com.aventstack.extentreports.ExtentTest;
+import hu.robertszujo.seleniumproject.annotations.RoundTripBudget;
+import hu.robertszujo.seleniumproject.context.TestSession;
+import hu.robertszujo.seleniumproject.context.TestSessions;
+import hu.robertszujo.seleniumproject.metrics.RoundTripCounter;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+/**
+ * Reports the WebDriver round trips of every test and enforces the budget declared with {@link RoundTripBudget}
+ * or set on the session, e.g. from a scenario file. Runs before {@link TestListener} reports the outcome.
+ */
+public class RoundTripBudgetListener implements IInvokedMethodListener {
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (!method.isTestMethod()) return;
+        TestSession session = TestSessions.of(result);
+        if (session == null) return;
+
+        RoundTripCounter roundTrips = session.getRoundTrips();
+        RoundTripBudget annotation = method.getTestMethod().getConstructorOrMethod().getMethod().getAnnotation(RoundTripBudget.class);
+        int budget;
+        boolean failOnOverrun;
+        if (session.getRoundTripBudget() > 0) {
+            budget = session.getRoundTripBudget();
+            failOnOverrun = true;
+        } else if (annotation != null) {
+            budget = annotation.value();
+            failOnOverrun = annotation.failOnOverrun();
+        } else {
+            budget = 0;
+            failOnOverrun = false;
+        }
+
+        ExtentTest reporter = session.getReporter();
+        if (reporter != null) {
+            reporter.info("WebDriver round trips: " + roundTrips.getCount() + (budget > 0 ? " (budget: " + budget + ")" : "")
+                    + ", waiting for the browser: " + roundTrips.getWaitMillis() + " ms"
+                    + ", element lookups saved by the cache: " + roundTrips.getSavedLookups()
+                    + ", stale elements looked up again: " + roundTrips.getStaleRelookups());
+        }
+        if (budget == 0 || roundTrips.getCount() <= budget) return;
+
+        String message = "Round trip budget exceeded: " + roundTrips.getCount() + " WebDriver round trips, budget is " + budget;
+        //A test that already failed keeps its own failure
+        if (failOnOverrun && result.getStatus() == ITestResult.SUCCESS) {
+            result.setStatus(ITestResult.FAILURE);
+            result.setThrowable(new AssertionError(message));
+        } else if (reporter != null) {
+            reporter.warning(message);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package hu.robertszujo.seleniumproject;
+
+import hu.robertszujo.seleniumproject.constants.SchedulingConstants;
+import hu.robertszujo.seleniumproject.constants.ShardConstants;
+import hu.robertszujo.seleniumproject.reporter.ReportMerger;
+import hu.robertszujo.seleniumproject.scheduling.DurationHistory;
+import hu.robertszujo.seleniumproject.scheduling.Shard;
+import hu.robertszujo.seleniumproject.scheduling.ShardPlan;
+import org.openqa.selenium.json.Json;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+/**
+ * Keeps only the test methods of the shard this JVM runs, see {@link ShardPlan}.
+ * Data-driven methods run in every shard, their data provider splits the data instead, e.g. {@code ScenarioFeed}.
+ * <p>
+ * When the test finishes, the methods of the suite and the ones this shard ran are written next to its event log,
+ * so {@link ReportMerger} can check that every method ran in exactly one shard.
+ */
+public class ShardInterceptor implements IMethodInterceptor, ITestListener {
+
+    private static final Json JSON = new Json();
+
+    private final Set<String> suiteMethods = new ConcurrentSkipListSet<>();
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        Shard shard = ShardConstants.SHARD;
+        if (!shard.isSharded()) return methods;
+
+        List<String> plannedMethods = methods.stream()
+                .filter(method -> !method.getMethod().isDataDriven())
+                .map(method -> method.getMethod().getQualifiedName())
+                .toList();
+        suiteMethods.addAll(plannedMethods);
+        Set<String> shardMethods = ShardConstants.SHARD_PLAN_FILE == null
+                ? ShardPlan.methodsByName(shard, plannedMethods)
+                : ShardPlan.methodsOf(shard, plannedMethods, planDurations(ShardConstants.SHARD_PLAN_FILE));
+
+        return methods.stream()
+                .filter(method -> method.getMethod().isDataDriven() || shardMethods.contains(method.getMethod().getQualifiedName()))
+                .toList();
+    }
+
+    /**
+     * @throws IllegalStateException if the plan is missing, the shard would silently plan with other durations than the rest
+     */
+    private Map<String, Long> planDurations(Path planFile) {
+        if (!Files.exists(planFile)) {
+            throw new IllegalStateException("Shard plan " + planFile + " does not exist, every shard needs the same copy of it");
+        }
+        return DurationHistory.load(planFile, SchedulingConstants.DURATION_SMOOTHING).getAll();
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        if (!ShardConstants.SHARD.isSharded() || SuiteWideStorage.reportEventLog == null) return;
+
+        Set<String> ranMethods = new TreeSet<>();
+        Stream.of(context.getPassedTests(), context.getFailedTests(), context.getSkippedTests(), context.getFailedButWithinSuccessPercentageTests())
+                .flatMap(results -> results.getAllResults().stream())
+                .filter(result -> !result.getMethod().isDataDriven())
+                .forEach(result -> ranMethods.add(result.getMethod().getQualifiedName()));
+
+        Map<String, Object> methods = new LinkedHashMap<>();
+        methods.put("shard", ShardConstants.SHARD.toString());
+        methods.put("suiteMethods", List.copyOf(suiteMethods));
+        methods.put("ranMethods", List.copyOf(ranMethods));
+        Path methodsFile = ReportMerger.methodsFileOf(SuiteWideStorage.reportEventLog.getFile());
+        try {
+            Files.writeString(methodsFile, JSON.toJson(methods), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the methods of the shard to " + methodsFile, e);
+        }
+    }
+}
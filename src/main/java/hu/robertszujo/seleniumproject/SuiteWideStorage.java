@@ -1,8 +1,31 @@
 package hu.robertszujo.seleniumproject;
 
 import com.aventstack.extentreports.ExtentReports;
+import hu.robertszujo.seleniumproject.cache.ResultCache;
+import hu.robertszujo.seleniumproject.metrics.LatencyRecorder;
+import hu.robertszujo.seleniumproject.metrics.PageObjectTiming;
+import hu.robertszujo.seleniumproject.reporter.ReportEventLog;
+import hu.robertszujo.seleniumproject.reporter.ReporterSetup;
+import hu.robertszujo.seleniumproject.reporter.ScreenshotPipeline;
+import hu.robertszujo.seleniumproject.scenario.SnapshotMemo;
+import hu.robertszujo.seleniumproject.webdriver.ConsentSeeder;
+import hu.robertszujo.seleniumproject.webdriver.DriverPool;
 
 public class SuiteWideStorage {
 
     protected static ExtentReports testReport;
+    protected static ReporterSetup reporterSetup;
+    // Only set in the incremental report mode
+    protected static ReportEventLog reportEventLog;
+    protected static DriverPool driverPool;
+    protected static ConsentSeeder consentSeeder;
+    protected static ScreenshotPipeline screenshotPipeline;
+    protected static LatencyRecorder latencyRecorder;
+    protected static PageObjectTiming pageObjectTiming;
+    protected static String calculatorPageUrl;
+    // Only set if snapshots are memoized
+    protected static SnapshotMemo snapshotMemo;
+    // Only set in the incremental run mode
+    protected static ResultCache resultCache;
+    protected static String pageFingerprint;
 }
@@ -1,42 +1,73 @@
 package hu.robertszujo.seleniumproject;
 
 import com.aventstack.extentreports.ExtentTest;
-import com.aventstack.extentreports.MediaEntityBuilder;
-import hu.robertszujo.seleniumproject.constants.TestContextConstants;
-import hu.robertszujo.seleniumproject.utils.WebDriverUtils;
-import org.openqa.selenium.WebDriver;
-import org.testng.ITestContext;
+import hu.robertszujo.seleniumproject.constants.ReportConstants;
+import hu.robertszujo.seleniumproject.context.TestSession;
+import hu.robertszujo.seleniumproject.context.TestSessions;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
 public class TestListener implements ITestListener {
 
     @Override
     public void onTestSuccess(ITestResult result) {
-        ITestContext testContext = result.getTestContext();
-        WebDriver driver = (WebDriver) testContext.getAttribute(TestContextConstants.DRIVER);
-        ExtentTest reporter = (ExtentTest) testContext.getAttribute(TestContextConstants.REPORTER);
-
-        try {
-            reporter.info("Screenshot of the last visible screen",
-                    MediaEntityBuilder.createScreenCaptureFromBase64String(WebDriverUtils.captureScreenshotAsBase64(driver)).build());
-        } catch (Exception ignored) {
-            reporter.info("Could not attach screenshot of the last visible screen!");
-        }
+        TestSession session = TestSessions.of(result);
+        if (session == null || session.getReporter() == null) return;
+
+        finishReport(session.getReporter(), captureScreenshot(result, session, false));
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
-        ITestContext testContext = result.getTestContext();
-        WebDriver driver = (WebDriver) testContext.getAttribute(TestContextConstants.DRIVER);
-        ExtentTest reporter = (ExtentTest) testContext.getAttribute(TestContextConstants.REPORTER);
-
-        reporter.fail(result.getThrowable());
-        try {
-            reporter.info("Screenshot of the last visible screen",
-                    MediaEntityBuilder.createScreenCaptureFromBase64String(WebDriverUtils.captureScreenshotAsBase64(driver)).build());
-        } catch (Exception ignored) {
-            reporter.info("Could not attach screenshot of the last visible screen!");
+        TestSession session = TestSessions.of(result);
+        if (session == null || session.getReporter() == null) return;
+
+        session.getReporter().fail(result.getThrowable());
+        finishReport(session.getReporter(), captureScreenshot(result, session, true));
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        //No session or reporter if the test was skipped before its configuration methods ran
+        TestSession session = TestSessions.of(result);
+        if (session == null || session.getReporter() == null) return;
+
+        ExtentTest reporter = session.getReporter();
+        reporter.skip(result.getThrowable() != null ? result.getThrowable().getMessage() : "Test skipped");
+        finishReport(reporter, CompletableFuture.completedFuture(null));
+    }
+
+    private CompletableFuture<Void> captureScreenshot(ITestResult result, TestSession session, boolean failed) {
+        //Test name and parameters, so every data provider invocation is sampled on its own but the same way on every run
+        String testId = result.getMethod().getQualifiedName() + Arrays.toString(result.getParameters());
+        if (!ReportConstants.SCREENSHOT_POLICY.shouldCapture(failed, testId, ReportConstants.SCREENSHOT_SAMPLE_RATE)) {
+            return CompletableFuture.completedFuture(null);
         }
+        return SuiteWideStorage.screenshotPipeline.captureAndAttach(session.getDriver(), session.getReporter(), "Screenshot of the last visible screen");
+    }
+
+    /**
+     * In the incremental report mode the finished test is written to the event log once its screenshot is done,
+     * also if the screenshot failed: the log is the only report of the test
+     */
+    private void finishReport(ExtentTest reporter, CompletableFuture<Void> screenshot) {
+        if (SuiteWideStorage.reportEventLog == null) return;
+
+        screenshot.whenComplete((ignored, screenshotError) -> {
+            //Runs on the screenshot thread, see ScreenshotPipeline
+            if (screenshotError != null) {
+                synchronized (reporter.getModel()) {
+                    reporter.warning("Screenshot could not be attached: " + screenshotError.getMessage());
+                }
+            }
+            try {
+                SuiteWideStorage.reportEventLog.append(reporter);
+            } catch (RuntimeException e) {
+                //Kept by the event log as unwritten, the suite fails with its name once the report is rendered
+            }
+        });
     }
 }
@@ -0,0 +1,15 @@
+package hu.robertszujo.seleniumproject.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a test that needs the real cookie popup. Its session is never pre-seeded with the consent cookies,
+ * whatever the configured consent strategy is.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface InteractiveConsent {
+}
@@ -0,0 +1,20 @@
+package hu.robertszujo.seleniumproject.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of WebDriver round trips a test may make. Checked by the RoundTripBudgetListener
+ * after the test method, so page objects that quietly start making more calls are caught.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface RoundTripBudget {
+
+    int value();
+
+    // false only adds a warning to the report instead of failing the test
+    boolean failOnOverrun() default true;
+}
@@ -0,0 +1,97 @@
+package hu.robertszujo.seleniumproject.cache;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hash of everything that decides what the calculator does: the markup of the form and its result sections
+ * as loaded, the inline scripts of the page and the external scripts it loads from its own origin or from URLs
+ * matching the script pattern. A change of the site's calculation or validation logic changes the fingerprint,
+ * which invalidates every cached result.
+ * <p>
+ * An external script the page cannot download again, e.g. a cross-origin bundle without CORS headers, only
+ * counts with its URL. Its URL should change with its content, if not, the pattern should leave it out.
+ */
+public class PageFingerprint {
+
+    // Collects the markup and the scripts, downloading the external ones from the page itself so cookies and cache rules match
+    private static final String FINGERPRINT_SCRIPT = """
+            var scriptPattern = arguments[0] ? new RegExp(arguments[0]) : null;
+            var done = arguments[arguments.length - 1];
+            var markup = ["div[class='content_hitelmaximum']", '#nem_tudunk_kalkulalni', '#max_eredmeny'].map(function (selector) {
+                var el = document.querySelector(selector);
+                return el ? el.outerHTML : '';
+            });
+            // Only code, data blocks such as JSON-LD are left out
+            var executable = function (script) {
+                return !script.type || ['text/javascript', 'application/javascript', 'module'].indexOf(script.type.toLowerCase()) >= 0;
+            };
+            var inline = Array.prototype.filter.call(document.querySelectorAll('script:not([src])'), executable)
+                .map(function (script) { return script.textContent; });
+            var sources = Array.prototype.filter.call(document.querySelectorAll('script[src]'), executable)
+                .map(function (script) { return script.src; })
+                .filter(function (src) {
+                    return new URL(src).origin === location.origin || (scriptPattern !== null && scriptPattern.test(src));
+                });
+            Promise.all(sources.map(function (src) {
+                return fetch(src, { cache: 'no-store' })
+                    .then(function (response) { return response.ok ? response.text() : 'unavailable'; })
+                    .catch(function () { return 'unavailable'; });
+            })).then(function (texts) {
+                done({
+                    markup: markup,
+                    inlineScripts: inline,
+                    // Host and path without the query, cache busting parameters may change on every load
+                    scripts: sources.map(function (src, i) {
+                        var url = new URL(src);
+                        return { path: url.host + url.pathname, text: texts[i] };
+                    })
+                });
+            });
+            """;
+
+    /**
+     * Fingerprints the calculator page currently open in the driver. Must run before the form is touched.
+     * @param scriptPattern Regular expression of the external script URLs to include besides the ones of the page's own origin,
+     *                      empty for none
+     * @return Hex SHA-256 of the markup and scripts
+     */
+    @SuppressWarnings("unchecked")
+    public static String of(WebDriver driver, String scriptPattern) {
+        Map<String, Object> page = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(FINGERPRINT_SCRIPT, scriptPattern);
+
+        MessageDigest digest = sha256();
+        for (Object markup : (List<Object>) page.get("markup")) {
+            update(digest, String.valueOf(markup));
+        }
+        for (Object inlineScript : (List<Object>) page.get("inlineScripts")) {
+            update(digest, String.valueOf(inlineScript));
+        }
+        for (Map<String, Object> script : (List<Map<String, Object>>) page.get("scripts")) {
+            update(digest, String.valueOf(script.get("path")));
+            update(digest, String.valueOf(script.get("text")));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String part) {
+        digest.update(part.getBytes(StandardCharsets.UTF_8));
+        // Separator, so moving text from one part to the next changes the hash
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package hu.robertszujo.seleniumproject.cache;
+
+import hu.robertszujo.seleniumproject.utils.JsonFiles;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Outcomes of scenarios and calculations of tests that passed, kept across runs in a JSON file, keyed by their inputs.
+ * Every entry remembers the {@link PageFingerprint} it passed against, a result only counts as cached
+ * while the page still has the same fingerprint.
+ * <p>
+ * Several JVMs, e.g. the shards of one run, may save into the same file: each one only merges its own results.
+ */
+public class ResultCache {
+
+    private final Path file;
+    // Results of earlier runs, as loaded
+    private final Map<String, Entry> entries;
+    // Results of the current run, merged into the file on save
+    private final Map<String, Entry> runEntries = new HashMap<>();
+    // Keys a failed test of the current run depended on, never kept as green in this run
+    private final Set<String> failedKeys = new HashSet<>();
+
+    private ResultCache(Path file, Map<String, Entry> entries) {
+        this.file = file;
+        this.entries = entries;
+    }
+
+    /**
+     * @return The cached results, empty if the file does not exist or cannot be read
+     */
+    @SuppressWarnings("unchecked")
+    public static ResultCache load(Path file) {
+        Map<String, Entry> entries = new HashMap<>();
+        JsonFiles.read(file).forEach((key, entry) -> {
+            if (entry instanceof Map<?, ?> map) entries.put(key, Entry.fromJson((Map<String, Object>) map));
+        });
+        return new ResultCache(file, entries);
+    }
+
+    /**
+     * @param key Inputs and expectations of the scenario, or inputs of the calculation
+     * @param fingerprint Fingerprint of the page in the current run
+     * @return The result of the last green run before this one, if it ran with the same inputs against the same page
+     */
+    public synchronized Optional<Entry> findGreen(String key, String fingerprint) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.fingerprint().equals(fingerprint) ? Optional.of(entry) : Optional.empty();
+    }
+
+    /**
+     * Keeps the result for the next runs, unless a test that depended on it failed in this run
+     * @param outcome What the page showed by name, with values Json can write: strings, numbers, booleans, lists and maps
+     */
+    public synchronized void recordGreen(String key, String fingerprint, Map<String, Object> outcome) {
+        if (failedKeys.contains(key)) return;
+        runEntries.put(key, new Entry(fingerprint, System.currentTimeMillis(), new TreeMap<>(outcome)));
+    }
+
+    /**
+     * Drops the result of the current run, e.g. a calculation shared by several tests once one of them failed:
+     * it is only kept if every test that used it passed
+     */
+    public synchronized void recordFailure(String key) {
+        failedKeys.add(key);
+        runEntries.remove(key);
+    }
+
+    public synchronized void save() throws IOException {
+        JsonFiles.update(file, content -> runEntries.forEach((key, entry) -> content.put(key, entry.toJson())));
+    }
+
+    /**
+     * @param fingerprint Page fingerprint the scenario passed against
+     * @param recordedAt When it passed, epoch millis
+     * @param outcome What the page showed
+     */
+    public record Entry(String fingerprint, long recordedAt, Map<String, Object> outcome) {
+
+        private Map<String, Object> toJson() {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("fingerprint", fingerprint);
+            json.put("recordedAt", recordedAt);
+            json.put("outcome", outcome);
+            return json;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Entry fromJson(Map<String, Object> json) {
+            Map<String, Object> outcome = new LinkedHashMap<>((Map<String, Object>) json.getOrDefault("outcome", Map.of()));
+            return new Entry(String.valueOf(json.get("fingerprint")), ((Number) json.get("recordedAt")).longValue(), outcome);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package hu.robertszujo.seleniumproject.cache;
+
+public enum RunMode {
+
+    // Every scenario runs against the browser
+    FULL,
+
+    // Scenarios that passed against the same page fingerprint with the same inputs are skipped as cached
+    INCREMENTAL
+}
@@ -0,0 +1,80 @@
+package hu.robertszujo.seleniumproject.cache;
+
+import hu.robertszujo.seleniumproject.pages.CalculatorSnapshot;
+import hu.robertszujo.seleniumproject.pages.CalculatorSnapshot.ErrorState;
+import hu.robertszujo.seleniumproject.pages.CalculatorSnapshot.FormError;
+import hu.robertszujo.seleniumproject.pages.CalculatorSnapshot.Offer;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link CalculatorSnapshot} as plain maps and lists, the form {@link ResultCache} keeps it in
+ */
+public final class SnapshotJson {
+
+    private SnapshotJson() {
+    }
+
+    public static Map<String, Object> toJson(CalculatorSnapshot snapshot) {
+        Map<String, Object> errors = new LinkedHashMap<>();
+        snapshot.errors().forEach((error, state) -> {
+            Map<String, Object> errorState = new LinkedHashMap<>();
+            errorState.put("visible", state.visible());
+            errorState.put("text", state.text());
+            errors.put(error.name(), errorState);
+        });
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("fieldValues", snapshot.fieldValues());
+        json.put("checkedInputs", snapshot.checkedInputs());
+        json.put("errors", errors);
+        json.put("formVisible", snapshot.formVisible());
+        json.put("resultsVisible", snapshot.resultsVisible());
+        json.put("cannotCalculateVisible", snapshot.cannotCalculateVisible());
+        json.put("offers", snapshot.offers().stream().map(SnapshotJson::offerToJson).toList());
+        return json;
+    }
+
+    private static Map<String, Object> offerToJson(Offer offer) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("index", offer.index());
+        json.put("visible", offer.visible());
+        json.put("maxLoanAmount", offer.maxLoanAmount());
+        json.put("monthlyRepayment", offer.monthlyRepayment());
+        json.put("apr", offer.apr());
+        return json;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static CalculatorSnapshot fromJson(Map<String, Object> json) {
+        Map<String, String> fieldValues = new HashMap<>();
+        ((Map<String, Object>) json.get("fieldValues")).forEach((id, value) -> fieldValues.put(id, String.valueOf(value)));
+
+        Map<String, Boolean> checkedInputs = new HashMap<>();
+        ((Map<String, Object>) json.get("checkedInputs")).forEach((id, checked) -> checkedInputs.put(id, (Boolean) checked));
+
+        Map<FormError, ErrorState> errors = new EnumMap<>(FormError.class);
+        ((Map<String, Object>) json.get("errors")).forEach((error, state) -> {
+            Map<String, Object> errorState = (Map<String, Object>) state;
+            errors.put(FormError.valueOf(error), new ErrorState((Boolean) errorState.get("visible"), (String) errorState.get("text")));
+        });
+
+        List<Offer> offers = ((List<Map<String, Object>>) json.get("offers")).stream()
+                .map(offer -> new Offer(((Number) offer.get("index")).intValue(),
+                        (Boolean) offer.get("visible"),
+                        (String) offer.get("maxLoanAmount"),
+                        (String) offer.get("monthlyRepayment"),
+                        (String) offer.get("apr")))
+                .toList();
+
+        return new CalculatorSnapshot(Map.copyOf(fieldValues), Map.copyOf(checkedInputs), errors,
+                (Boolean) json.get("formVisible"),
+                (Boolean) json.get("resultsVisible"),
+                (Boolean) json.get("cannotCalculateVisible"),
+                offers);
+    }
+}
@@ -6,4 +6,15 @@ public class ElementConstants {
 
     public static Duration MAX_WAIT_DURATION = Duration.ofSeconds(10);
 
+    // Field validation counts as finished once the watched error elements were quiet for this long
+    public static Duration VALIDATION_QUIET_PERIOD = Duration.ofMillis(150);
+
+    // Waits check their condition again after 10 ms, then back off by doubling the interval, up to 500 ms
+    public static Duration WAIT_INITIAL_POLL_INTERVAL = Duration.ofMillis(10);
+    public static Duration WAIT_MAX_POLL_INTERVAL = Duration.ofMillis(500);
+    public static double WAIT_POLL_BACKOFF_FACTOR = 2.0;
+
+    // Page object fields keep their element until the next navigation, -Delement.cache=false looks it up on every access
+    public static final boolean CACHE_ELEMENT_LOOKUPS = Boolean.parseBoolean(System.getProperty("element.cache", "true"));
+
 }
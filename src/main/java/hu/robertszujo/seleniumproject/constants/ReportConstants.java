@@ -0,0 +1,36 @@
+package hu.robertszujo.seleniumproject.constants;
+
+import hu.robertszujo.seleniumproject.reporter.ReportMode;
+import hu.robertszujo.seleniumproject.reporter.ScreenshotPolicy;
+
+public class ReportConstants {
+
+    // in_memory keeps the whole report in the heap until the end of the suite, incremental streams it to disk
+    public static final ReportMode REPORT_MODE =
+            ReportMode.valueOf(System.getProperty("report.mode", ReportMode.IN_MEMORY.name()).toUpperCase());
+
+    // Tests per HTML file rendered from the incremental report's event log, 0 renders a single file.
+    // Rendering holds every test of a file in the heap, so this bounds the heap of the final render
+    public static final int REPORT_TESTS_PER_FILE = Integer.getInteger("report.testsPerFile", 0);
+
+    // Which tests get a screenshot: always, failures_only or sampled
+    public static final ScreenshotPolicy SCREENSHOT_POLICY =
+            ScreenshotPolicy.valueOf(System.getProperty("screenshot.policy", ScreenshotPolicy.ALWAYS.name()).toUpperCase());
+
+    // Share of passed tests captured with the sampled policy
+    public static final double SCREENSHOT_SAMPLE_RATE = Double.parseDouble(System.getProperty("screenshot.sample.rate", "0.1"));
+
+    // JPEG quality (1-100) of the screenshots attached to the report
+    public static final int SCREENSHOT_JPEG_QUALITY = Integer.getInteger("screenshot.quality", 70);
+
+    // Screenshots wider than this are downscaled into thumbnails, 0 keeps the original size
+    public static final int SCREENSHOT_MAX_WIDTH = Integer.getInteger("screenshot.maxWidth", 0);
+
+    // Background threads encoding and attaching screenshots, and the number of screenshots they may fall behind
+    public static final int SCREENSHOT_THREADS = 2;
+    public static final int SCREENSHOT_QUEUE_CAPACITY = 32;
+
+    // Latency percentiles per WebDriver command and per page object method, written next to the HTML report
+    public static final String COMMAND_LATENCY_FILE_NAME = "command-latency.json";
+
+}
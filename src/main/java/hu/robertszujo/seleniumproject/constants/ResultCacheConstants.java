@@ -0,0 +1,22 @@
+package hu.robertszujo.seleniumproject.constants;
+
+import hu.robertszujo.seleniumproject.cache.RunMode;
+
+import java.nio.file.Path;
+
+public class ResultCacheConstants {
+
+    // Override with -Drun.mode=incremental to skip scenarios that passed against the same page with the same inputs
+    public static final RunMode RUN_MODE =
+            RunMode.valueOf(System.getProperty("run.mode", RunMode.FULL.name()).toUpperCase());
+
+    // Results of earlier incremental runs; point -Dresult.cache.dir outside of target to keep them across "mvn clean"
+    public static final Path RESULT_CACHE_FILE =
+            Path.of(System.getProperty("result.cache.dir", System.getProperty("user.dir") + "/target"), "result-cache.json");
+
+    // External scripts in the page fingerprint besides the ones of the page's own origin: by default every script
+    // served from erstelakashitel.hu or its subdomains, which includes the calculator bundle. Inline scripts always count
+    public static final String FINGERPRINT_SCRIPT_PATTERN =
+            System.getProperty("result.cache.scriptPattern", "^https?://([^/]+\\.)?erstelakashitel\\.hu(:\\d+)?/");
+
+}
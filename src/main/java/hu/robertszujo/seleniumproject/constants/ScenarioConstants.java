@@ -0,0 +1,18 @@
+package hu.robertszujo.seleniumproject.constants;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class ScenarioConstants {
+
+    // Comma separated classpath resources or file paths, CSV or JSON
+    public static final List<String> SCENARIO_FILES = Arrays.asList(
+            System.getProperty("scenario.files", "scenarios/loan-mapping.csv,scenarios/validation.json").split(","));
+
+    // Scenarios read ahead of the running tests, so large files are never held in memory at once
+    public static final int SCENARIO_QUEUE_CAPACITY = Integer.getInteger("scenario.queue.capacity", 64);
+
+    // Tests needing the same calculator inputs share one calculation per run, -Dscenario.memo=false calculates each
+    public static final boolean MEMOIZE_SNAPSHOTS = Boolean.parseBoolean(System.getProperty("scenario.memo", "true"));
+
+}
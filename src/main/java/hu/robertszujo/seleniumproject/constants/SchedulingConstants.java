@@ -0,0 +1,17 @@
+package hu.robertszujo.seleniumproject.constants;
+
+import java.nio.file.Path;
+
+public class SchedulingConstants {
+
+    // Test durations of earlier runs; point -Dduration.history.dir outside of target to keep them across "mvn clean"
+    public static final Path DURATION_HISTORY_FILE =
+            Path.of(System.getProperty("duration.history.dir", System.getProperty("user.dir") + "/target"), "test-durations.json");
+
+    // Weight of the latest run in the recorded duration, the rest comes from the earlier runs
+    public static final double DURATION_SMOOTHING = Double.parseDouble(System.getProperty("duration.history.smoothing", "0.5"));
+
+    // false keeps the TestNG order instead of starting the longest tests first
+    public static final boolean LONGEST_FIRST = Boolean.parseBoolean(System.getProperty("schedule.longestFirst", "true"));
+
+}
@@ -0,0 +1,17 @@
+package hu.robertszujo.seleniumproject.constants;
+
+import hu.robertszujo.seleniumproject.scheduling.Shard;
+
+import java.nio.file.Path;
+
+public class ShardConstants {
+
+    // Run one part of the suite with -Dshard.count=4 -Dshard.number=1..4, one JVM per shard
+    public static final Shard SHARD = new Shard(Integer.getInteger("shard.number", 1), Integer.getInteger("shard.count", 1));
+
+    // Durations every shard plans with, so all of them compute the same split. Copy the duration history once before
+    // starting the shards, e.g. to target/shard-plan.json, and pass -Dshard.plan=target/shard-plan.json to each of them.
+    // Without a plan the methods are split by a hash of their name, which needs no shared file but ignores durations
+    public static final Path SHARD_PLAN_FILE = System.getProperty("shard.plan") == null ? null : Path.of(System.getProperty("shard.plan"));
+
+}
@@ -0,0 +1,15 @@
+package hu.robertszujo.seleniumproject.constants;
+
+public class SweepConstants {
+
+    // JavaScript expression giving the page's validate and calculate functions, see InBrowserSweep.
+    // The default only exists on the local stand-in; the live page needs an accessor that adapts its own functions
+    public static final String CALCULATOR_ACCESSOR = System.getProperty("sweep.accessor", "window.HitelKalkulator");
+
+    // Input tuples evaluated by one script execution
+    public static final int CHUNK_SIZE = Integer.getInteger("sweep.chunkSize", 5000);
+
+    // Sweep results confirmed through the form, spread evenly over the grid
+    public static final int UI_SAMPLE_SIZE = Integer.getInteger("sweep.uiSample", 5);
+
+}
@@ -1,7 +1,32 @@
 package hu.robertszujo.seleniumproject.constants;
 
+import hu.robertszujo.seleniumproject.server.CalculatorTarget;
+import hu.robertszujo.seleniumproject.webdriver.ConsentStrategy;
+
+import java.util.Map;
+
 public class TestConstants {
 
-    public static final String CALCULATOR_PAGE_URL = "https://erstelakashitel.hu/#lakashitel-maximum-kalkulator";
+    public static final String CALCULATOR_PAGE_FRAGMENT = "#lakashitel-maximum-kalkulator";
+
+    public static final String CALCULATOR_PAGE_URL =
+            System.getProperty("calculator.url", "https://erstelakashitel.hu/" + CALCULATOR_PAGE_FRAGMENT);
+
+    // Override with -Dcalculator.target=local to run against the synthetic stand-in page served from the classpath.
+    // Its loan calculation is hand-written, results against it say nothing about the real calculator
+    public static final CalculatorTarget CALCULATOR_TARGET =
+            CalculatorTarget.valueOf(System.getProperty("calculator.target", CalculatorTarget.LIVE.name()).toUpperCase());
+
+    // Override with -Dform.fill.mode=realistic_typing to type every field through WebDriver, parsed by the page objects
+    public static final String FORM_FILL_MODE = System.getProperty("form.fill.mode", "scripted");
+
+    // Override with -Dconsent.strategy=interactive to accept the cookie popup in every test
+    public static final ConsentStrategy CONSENT_STRATEGY =
+            ConsentStrategy.valueOf(System.getProperty("consent.strategy", ConsentStrategy.PRESEED.name()).toUpperCase());
+
+    // Cookies written by the consent banner when every category is accepted
+    public static final Map<String, String> CONSENT_COOKIES = Map.of(
+            "TC_PRIVACY", System.getProperty("consent.cookie", "0@001%7C1%7C1%7C1@@1@" + System.currentTimeMillis()),
+            "TC_PRIVACY_CENTER", "1");
 
 }
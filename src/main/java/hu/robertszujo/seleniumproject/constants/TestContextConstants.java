@@ -2,7 +2,7 @@ package hu.robertszujo.seleniumproject.constants;
 
 public class TestContextConstants {
 
-    public static final String DRIVER = "driver";
-    public static final String REPORTER = "reporter";
+    // Test result attribute holding the TestSession of the invocation
+    public static final String SESSION = "testSession";
 
 }
@@ -0,0 +1,34 @@
+package hu.robertszujo.seleniumproject.constants;
+
+import hu.robertszujo.seleniumproject.webdriver.BrowserProfile;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+public class WebDriverConstants {
+
+    // A pooled browser session is quit and replaced after this many leases
+    public static final int MAX_USES_PER_DRIVER = Integer.getInteger("driver.pool.maxUses", 25);
+
+    // Maximum time a test waits for a free browser session
+    public static final Duration LEASE_TIMEOUT = Duration.ofMinutes(2);
+
+    public static final String BLANK_PAGE_URL = "about:blank";
+
+    // standard or lean
+    public static final BrowserProfile BROWSER_PROFILE =
+            BrowserProfile.valueOf(System.getProperty("browser.profile", BrowserProfile.STANDARD.name()).toUpperCase());
+
+    // URL patterns the lean profile blocks, comma separated, '*' is a wildcard.
+    // The consent manager (TrustCommander / TagCommander) must never be listed: the cookie popup comes from it.
+    public static final List<String> BLOCKED_URL_PATTERNS = Arrays.stream(System.getProperty("browser.blockedUrls",
+                    "*googletagmanager.com*,*google-analytics.com*,*doubleclick.net*,*googleadservices.com*,"
+                            + "*googlesyndication.com*,*facebook.net*,*facebook.com/tr*,*hotjar.com*,*clarity.ms*,"
+                            + "*bat.bing.com*,*linkedin.com/px*,*snap.licdn.com*,*adform.net*,*criteo.com*")
+                    .split(","))
+            .map(String::trim)
+            .filter(pattern -> !pattern.isEmpty())
+            .toList();
+
+}
@@ -0,0 +1,143 @@
+package hu.robertszujo.seleniumproject.context;
+
+import com.aventstack.extentreports.ExtentTest;
+import hu.robertszujo.seleniumproject.metrics.PageObjectTiming;
+import hu.robertszujo.seleniumproject.metrics.RoundTripCounter;
+import hu.robertszujo.seleniumproject.pages.CalculatorSnapshot;
+import hu.robertszujo.seleniumproject.scenario.LoanScenario;
+import hu.robertszujo.seleniumproject.webdriver.ConsentStrategy;
+import org.openqa.selenium.WebDriver;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Everything that belongs to a single test invocation: its browser session, its reporter and its page objects.
+ * A session is only ever used by the thread running the invocation, see {@link TestSessions}.
+ */
+public class TestSession {
+
+    private final WebDriver driver;
+    private final ConsentStrategy consentStrategy;
+    // Null if page object methods are not timed
+    private final PageObjectTiming pageObjectTiming;
+    private ExtentTest reporter;
+    private final Map<Class<?>, Object> pageObjects = new HashMap<>();
+    private final RoundTripCounter roundTrips = new RoundTripCounter();
+    private int roundTripBudget;
+    private int navigationCount;
+    private final Map<LoanScenario, CalculatorSnapshot> calculations = new LinkedHashMap<>();
+    private final Set<LoanScenario> cachedCalculations = new HashSet<>();
+
+    TestSession(WebDriver driver, ConsentStrategy consentStrategy, PageObjectTiming pageObjectTiming) {
+        this.driver = driver;
+        this.consentStrategy = consentStrategy;
+        this.pageObjectTiming = pageObjectTiming;
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    /**
+     * @return PRESEED if the session already has the consent cookies, so the cookie popup will not show up
+     */
+    public ConsentStrategy getConsentStrategy() {
+        return consentStrategy;
+    }
+
+    /**
+     * @return Reporter of the invocation, null until the test has created it
+     */
+    public ExtentTest getReporter() {
+        return reporter;
+    }
+
+    public void setReporter(ExtentTest reporter) {
+        this.reporter = reporter;
+    }
+
+    /**
+     * @return WebDriver round trips made by the invocation so far
+     */
+    public RoundTripCounter getRoundTrips() {
+        return roundTrips;
+    }
+
+    /**
+     * @return Round trip budget set for this invocation, 0 if none was set
+     */
+    public int getRoundTripBudget() {
+        return roundTripBudget;
+    }
+
+    /**
+     * Overrides the {@code RoundTripBudget} annotation of the test method, e.g. with the budget of a scenario
+     * @param roundTripBudget Maximum number of WebDriver round trips, 0 for none
+     */
+    public void setRoundTripBudget(int roundTripBudget) {
+        this.roundTripBudget = roundTripBudget;
+    }
+
+    /**
+     * @return Navigations, refreshes and window or frame switches of the session during this invocation
+     */
+    public int getNavigationCount() {
+        return navigationCount;
+    }
+
+    /**
+     * Invalidates every element cached by the page objects of this invocation
+     */
+    public void recordNavigation() {
+        navigationCount++;
+    }
+
+    /**
+     * Remembers a calculation the invocation asserted on, to be kept in the result cache if the invocation passes
+     * @param cached true if it was taken from the result cache of an earlier run instead of the page
+     */
+    public void recordCalculation(LoanScenario input, CalculatorSnapshot snapshot, boolean cached) {
+        calculations.put(input, snapshot);
+        if (cached) cachedCalculations.add(input);
+    }
+
+    /**
+     * @return Calculations the invocation asserted on, in order, including the ones taken from the result cache
+     */
+    public Map<LoanScenario, CalculatorSnapshot> getCalculations() {
+        return calculations;
+    }
+
+    /**
+     * @return true if the calculation was taken from the result cache of an earlier run
+     */
+    public boolean isCachedCalculation(LoanScenario input) {
+        return cachedCalculations.contains(input);
+    }
+
+    /**
+     * @return true if the invocation made calculations, but took every one of them from the result cache
+     */
+    public boolean hasOnlyCachedCalculations() {
+        return !calculations.isEmpty() && cachedCalculations.containsAll(calculations.keySet());
+    }
+
+    /**
+     * Returns the page object of the given type, creating it on first use with this session's driver and reporter.
+     * If page object methods are timed, the page object is created by {@link PageObjectTiming} instead of the factory.
+     * @param factory Page object constructor, e.g. {@code LoanCalculatorPage::new}
+     */
+    public <T> T getPage(Class<T> type, BiFunction<WebDriver, ExtentTest, T> factory) {
+        if (reporter == null) {
+            throw new IllegalStateException("The reporter has to be set before page objects are created");
+        }
+        return type.cast(pageObjects.computeIfAbsent(type, key -> pageObjectTiming != null
+                ? pageObjectTiming.create(type, driver, reporter)
+                : factory.apply(driver, reporter)));
+    }
+}
@@ -0,0 +1,69 @@
+package hu.robertszujo.seleniumproject.context;
+
+import hu.robertszujo.seleniumproject.constants.TestContextConstants;
+import hu.robertszujo.seleniumproject.metrics.PageObjectTiming;
+import hu.robertszujo.seleniumproject.webdriver.ConsentStrategy;
+import org.openqa.selenium.WebDriver;
+import org.testng.ITestResult;
+
+import java.util.Optional;
+
+/**
+ * Registry of the running test invocations. The session is bound to the thread running the invocation,
+ * and also stored on its {@link ITestResult}, so listeners find the right session no matter which thread calls them.
+ * <p>
+ * Nothing is stored in the shared {@code ITestContext}, which makes method level parallelism safe.
+ */
+public final class TestSessions {
+
+    private static final ThreadLocal<TestSession> CURRENT = new ThreadLocal<>();
+
+    private TestSessions() {
+    }
+
+    /**
+     * Starts the session of a test invocation on the current thread
+     * @param consentStrategy How the session got, or will get, cookie consent
+     * @param pageObjectTiming Times the methods of the session's page objects, null to not time them
+     */
+    public static TestSession open(ITestResult result, WebDriver driver, ConsentStrategy consentStrategy,
+                                   PageObjectTiming pageObjectTiming) {
+        TestSession session = new TestSession(driver, consentStrategy, pageObjectTiming);
+        CURRENT.set(session);
+        result.setAttribute(TestContextConstants.SESSION, session);
+        return session;
+    }
+
+    /**
+     * @return Session of the invocation running on the current thread
+     * @throws IllegalStateException if no invocation is running on the current thread
+     */
+    public static TestSession current() {
+        TestSession session = CURRENT.get();
+        if (session == null) {
+            throw new IllegalStateException("No test session is open on thread " + Thread.currentThread().getName());
+        }
+        return session;
+    }
+
+    /**
+     * @return Session of the invocation running on the current thread, empty outside of test invocations
+     */
+    public static Optional<TestSession> find() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * @return Session of the given invocation, null if it never got one
+     */
+    public static TestSession of(ITestResult result) {
+        return (TestSession) result.getAttribute(TestContextConstants.SESSION);
+    }
+
+    /**
+     * Unbinds the session from the current thread. The session stays readable through its result.
+     */
+    public static void close() {
+        CURRENT.remove();
+    }
+}
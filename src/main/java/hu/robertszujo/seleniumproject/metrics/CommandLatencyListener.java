@@ -0,0 +1,58 @@
+package hu.robertszujo.seleniumproject.metrics;
+
+import hu.robertszujo.seleniumproject.context.TestSessions;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+
+/**
+ * Times every call on a decorated driver and on the elements, navigation and options it returns.
+ * Each latency is recorded per command, page object methods are timed as a whole by {@link PageObjectTiming}.
+ * Calls that reach the browser are also counted as round trips of the test running on the calling thread.
+ * <p>
+ * Applied with {@code new EventFiringDecorator<>(listener).decorate(driver)}.
+ */
+public class CommandLatencyListener implements WebDriverListener {
+
+    // Calls that only return a local view of the driver, without talking to the browser
+    private static final Set<String> LOCAL_METHODS = Set.of("manage", "navigate", "switchTo", "timeouts", "window", "logs",
+            "getWrappedDriver", "getWrappedElement", "equals", "hashCode", "toString");
+
+    private final LatencyRecorder recorder;
+    // Calls may nest, e.g. a script execution that is given decorated elements as arguments
+    private final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    public CommandLatencyListener(LatencyRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        startTimes.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(method);
+    }
+
+    private void record(Method method) {
+        Long start = startTimes.get().poll();
+        if (start == null) return;
+        long nanos = System.nanoTime() - start;
+
+        recorder.record(LatencyRecorder.COMMANDS, method.getDeclaringClass().getSimpleName() + "." + method.getName(), nanos);
+        if (!LOCAL_METHODS.contains(method.getName())) {
+            TestSessions.find().ifPresent(session -> session.getRoundTrips().record(nanos));
+        }
+    }
+}
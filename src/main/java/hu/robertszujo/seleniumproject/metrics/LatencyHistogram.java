@@ -0,0 +1,92 @@
+package hu.robertszujo.seleniumproject.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-linear latency histogram in microseconds: every power of two is split into 16 linear buckets,
+ * which keeps the relative error of a percentile below 7% at any magnitude with less than a thousand buckets.
+ * <p>
+ * Written by a single thread without locks or CAS loops; other threads may read it at any time,
+ * e.g. to merge the histograms of every thread at the end of the suite.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one latency. Must only be called by the thread owning this histogram.
+     */
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+        int index = bucketIndex(value);
+        // Single writer: ordered stores are enough, readers see every update eventually
+        counts.lazySet(index, counts.get(index) + 1);
+        count.lazySet(count.get() + 1);
+        sum.lazySet(sum.get() + value);
+        if (value > max.get()) max.lazySet(value);
+    }
+
+    /**
+     * Adds every recorded latency of this histogram to the target. The target must be owned by the calling thread.
+     */
+    public void mergeInto(LatencyHistogram target) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long bucketCount = counts.get(i);
+            if (bucketCount > 0) target.counts.lazySet(i, target.counts.get(i) + bucketCount);
+        }
+        target.count.lazySet(target.count.get() + count.get());
+        target.sum.lazySet(target.sum.get() + sum.get());
+        if (max.get() > target.max.get()) target.max.lazySet(max.get());
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getSumMicros() {
+        return sum.get();
+    }
+
+    public long getMaxMicros() {
+        return max.get();
+    }
+
+    /**
+     * @param percentile Between 0 and 100
+     * @return Upper bound of the bucket holding the given percentile, never more than the largest recorded value
+     */
+    public long getPercentileMicros(double percentile) {
+        long total = count.get();
+        if (total == 0) return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += counts.get(i);
+            if (cumulative >= rank) return Math.min(bucketUpperBound(i), max.get());
+        }
+        return max.get();
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
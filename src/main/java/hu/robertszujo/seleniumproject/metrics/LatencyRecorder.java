@@ -0,0 +1,61 @@
+package hu.robertszujo.seleniumproject.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Collects latencies by category and name into histograms owned by the recording thread,
+ * so recording never contends with other test threads. The histograms are merged when a summary is requested.
+ */
+public class LatencyRecorder {
+
+    public static final String COMMANDS = "commands";
+    public static final String PAGE_OBJECT_METHODS = "pageObjectMethods";
+
+    private final Queue<Map<String, LatencyHistogram>> threadHistograms = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Map<String, LatencyHistogram>> currentThreadHistograms = ThreadLocal.withInitial(() -> {
+        Map<String, LatencyHistogram> histograms = new HashMap<>();
+        threadHistograms.add(histograms);
+        return histograms;
+    });
+
+    /**
+     * @param category e.g. {@link #COMMANDS}
+     * @param name e.g. {@code WebElement.click}
+     */
+    public void record(String category, String name, long nanos) {
+        // Only the owning thread ever adds to its map, other threads only read it while merging
+        Map<String, LatencyHistogram> histograms = currentThreadHistograms.get();
+        LatencyHistogram histogram = histograms.get(category + '\0' + name);
+        if (histogram == null) {
+            histogram = new LatencyHistogram();
+            synchronized (histograms) {
+                histograms.put(category + '\0' + name, histogram);
+            }
+        }
+        histogram.record(nanos / 1_000);
+    }
+
+    /**
+     * @return Merged histogram of every thread, by category, then by name, in alphabetical order
+     */
+    public Map<String, Map<String, LatencyHistogram>> summarize() {
+        Map<String, Map<String, LatencyHistogram>> summary = new TreeMap<>();
+        for (Map<String, LatencyHistogram> histograms : threadHistograms) {
+            Map<String, LatencyHistogram> copy;
+            synchronized (histograms) {
+                copy = new HashMap<>(histograms);
+            }
+            copy.forEach((key, histogram) -> {
+                int separator = key.indexOf('\0');
+                histogram.mergeInto(summary
+                        .computeIfAbsent(key.substring(0, separator), category -> new TreeMap<>())
+                        .computeIfAbsent(key.substring(separator + 1), name -> new LatencyHistogram()));
+            });
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,83 @@
+package hu.robertszujo.seleniumproject.metrics;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.markuputils.ExtentColor;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Summarizes the recorded latencies as p50/p95/p99 per command and per page object method,
+ * into the HTML report and into a JSON file next to it
+ */
+public class LatencyReport {
+
+    private static final String[] TABLE_HEADER = {"Name", "Count", "Total ms", "p50 ms", "p95 ms", "p99 ms", "Max ms"};
+
+    private final Map<String, Map<String, LatencyHistogram>> summary;
+
+    public LatencyReport(LatencyRecorder recorder) {
+        this.summary = recorder.summarize();
+    }
+
+    public void writeJson(Path file) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        summary.forEach((category, histograms) -> {
+            Map<String, Object> entries = new LinkedHashMap<>();
+            histograms.forEach((name, histogram) -> entries.put(name, toJson(histogram)));
+            json.put(category, entries);
+        });
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, new Json().toJson(json), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Adds one table per category, slowest total first
+     */
+    public void addTo(ExtentTest reporter) {
+        summary.forEach((category, histograms) -> {
+            List<String[]> rows = new ArrayList<>();
+            rows.add(TABLE_HEADER);
+            histograms.entrySet().stream()
+                    .sorted(Comparator.comparingLong((Map.Entry<String, LatencyHistogram> entry) -> entry.getValue().getSumMicros()).reversed())
+                    .forEach(entry -> rows.add(toRow(entry.getKey(), entry.getValue())));
+            reporter.info(MarkupHelper.createLabel(category, ExtentColor.BLUE));
+            reporter.info(MarkupHelper.createTable(rows.toArray(String[][]::new)));
+        });
+    }
+
+    private static Map<String, Object> toJson(LatencyHistogram histogram) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("count", histogram.getCount());
+        json.put("totalMs", millis(histogram.getSumMicros()));
+        json.put("p50Ms", millis(histogram.getPercentileMicros(50)));
+        json.put("p95Ms", millis(histogram.getPercentileMicros(95)));
+        json.put("p99Ms", millis(histogram.getPercentileMicros(99)));
+        json.put("maxMs", millis(histogram.getMaxMicros()));
+        return json;
+    }
+
+    private static String[] toRow(String name, LatencyHistogram histogram) {
+        return new String[]{name, String.valueOf(histogram.getCount()),
+                format(histogram.getSumMicros()), format(histogram.getPercentileMicros(50)),
+                format(histogram.getPercentileMicros(95)), format(histogram.getPercentileMicros(99)),
+                format(histogram.getMaxMicros())};
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static String format(long micros) {
+        return String.format("%.1f", millis(micros));
+    }
+}
@@ -0,0 +1,89 @@
+package hu.robertszujo.seleniumproject.metrics;
+
+import com.aventstack.extentreports.ExtentTest;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.implementation.bind.annotation.Origin;
+import net.bytebuddy.implementation.bind.annotation.RuntimeType;
+import net.bytebuddy.implementation.bind.annotation.SuperCall;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
+import static net.bytebuddy.matcher.ElementMatchers.isPublic;
+import static net.bytebuddy.matcher.ElementMatchers.isStatic;
+import static net.bytebuddy.matcher.ElementMatchers.not;
+
+/**
+ * Creates page objects whose public methods are timed as a whole, waits and work between commands included,
+ * into {@link LatencyRecorder#PAGE_OBJECT_METHODS}. A page object method that calls another one is recorded
+ * with its full duration, and the called method with its own.
+ * <p>
+ * The page object is a subclass of its type generated at runtime, so tests use it like the page object itself.
+ */
+public class PageObjectTiming {
+
+    private final LatencyRecorder recorder;
+    // One generated subclass per page object type, shared by every session of the suite
+    private final Map<Class<?>, Constructor<?>> timedConstructors = new ConcurrentHashMap<>();
+
+    public PageObjectTiming(LatencyRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * @param type Page object type with a public {@code (WebDriver, ExtentTest)} constructor
+     */
+    public <T> T create(Class<T> type, WebDriver driver, ExtentTest reporter) {
+        try {
+            return type.cast(timedConstructors.computeIfAbsent(type, this::timedConstructor).newInstance(driver, reporter));
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException("Could not create page object " + type.getSimpleName(), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create page object " + type.getSimpleName(), e);
+        }
+    }
+
+    private Constructor<?> timedConstructor(Class<?> type) {
+        try {
+            return new ByteBuddy()
+                    .subclass(type)
+                    .method(isPublic().and(not(isStatic())).and(not(isDeclaredBy(Object.class))))
+                    .intercept(MethodDelegation.to(new Interceptor(recorder, type.getSimpleName())))
+                    .make()
+                    .load(type.getClassLoader())
+                    .getLoaded()
+                    .getConstructor(WebDriver.class, ExtentTest.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(type.getSimpleName() + " has no public (WebDriver, ExtentTest) constructor", e);
+        }
+    }
+
+    public static class Interceptor {
+
+        private final LatencyRecorder recorder;
+        private final String pageObjectName;
+
+        Interceptor(LatencyRecorder recorder, String pageObjectName) {
+            this.recorder = recorder;
+            this.pageObjectName = pageObjectName;
+        }
+
+        @RuntimeType
+        public Object time(@Origin Method method, @SuperCall Callable<?> call) throws Exception {
+            long start = System.nanoTime();
+            try {
+                return call.call();
+            } finally {
+                recorder.record(LatencyRecorder.PAGE_OBJECT_METHODS, pageObjectName + "." + method.getName(), System.nanoTime() - start);
+            }
+        }
+    }
+}
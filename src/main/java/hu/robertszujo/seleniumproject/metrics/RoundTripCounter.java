@@ -0,0 +1,48 @@
+package hu.robertszujo.seleniumproject.metrics;
+
+/**
+ * WebDriver round trips of one test invocation and the time spent waiting for them.
+ * Only used by the thread running the invocation.
+ */
+public class RoundTripCounter {
+
+    private int count;
+    private long waitNanos;
+    private int savedLookups;
+    private int staleRelookups;
+
+    public void record(long nanos) {
+        count++;
+        waitNanos += nanos;
+    }
+
+    /**
+     * An element lookup answered from the page object element cache instead of the browser
+     */
+    public void recordSavedLookup() {
+        savedLookups++;
+    }
+
+    /**
+     * A cached element turned out to be stale and was looked up again
+     */
+    public void recordStaleRelookup() {
+        staleRelookups++;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getWaitMillis() {
+        return waitNanos / 1_000_000;
+    }
+
+    public int getSavedLookups() {
+        return savedLookups;
+    }
+
+    public int getStaleRelookups() {
+        return staleRelookups;
+    }
+}
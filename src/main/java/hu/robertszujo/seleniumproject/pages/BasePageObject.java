@@ -1,6 +1,9 @@
 package hu.robertszujo.seleniumproject.pages;
 
 import com.aventstack.extentreports.ExtentTest;
+import hu.robertszujo.seleniumproject.constants.ElementConstants;
+import hu.robertszujo.seleniumproject.pages.locators.CachingElementLocatorFactory;
+import hu.robertszujo.seleniumproject.pages.locators.CachingFieldDecorator;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.PageFactory;
 
@@ -12,6 +15,11 @@ public class BasePageObject {
     public BasePageObject(WebDriver driver, ExtentTest reporter) {
         this.driver = driver;
         this.reporter = reporter;
-        PageFactory.initElements(driver, this);
+        if (ElementConstants.CACHE_ELEMENT_LOOKUPS) {
+            //Fields resolve their element once per page load instead of on every access
+            PageFactory.initElements(new CachingFieldDecorator(new CachingElementLocatorFactory(driver)), this);
+        } else {
+            PageFactory.initElements(driver, this);
+        }
     }
 }
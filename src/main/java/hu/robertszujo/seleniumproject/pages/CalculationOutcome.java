@@ -0,0 +1,23 @@
+package hu.robertszujo.seleniumproject.pages;
+
+/**
+ * What the calculator shows after the calculate button was clicked. Declaration order is the priority order
+ * when several outcomes are visible at once.
+ */
+public enum CalculationOutcome {
+
+    // Age below 18 or above 65, the calculation does not run
+    AGE_ERROR,
+
+    // Another field failed validation, the calculation does not run
+    FIELD_ERROR,
+
+    // "Sajnos ... nem tudunk lakáshitelt kalkulálni" section
+    CANNOT_CALCULATE,
+
+    // Results section with at least one offer box
+    RESULTS,
+
+    // None of the above appeared in time
+    TIMEOUT
+}
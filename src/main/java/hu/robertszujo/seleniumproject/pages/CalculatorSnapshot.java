@@ -0,0 +1,109 @@
+package hu.robertszujo.seleniumproject.pages;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable state of the loan calculator, read from the page in a single script execution
+ * @param fieldValues Value of every text input, keyed by input id
+ * @param checkedInputs Checked state of every radio button and checkbox, keyed by input id
+ * @param errors Visibility and text of every field validation error
+ * @param formVisible true if the calculator form is displayed
+ * @param resultsVisible true if the results section ({@code #max_eredmeny}) is displayed
+ * @param cannotCalculateVisible true if the "cannot calculate" section ({@code #nem_tudunk_kalkulalni}) is displayed
+ * @param offers Every offer box on the page, in page order
+ */
+public record CalculatorSnapshot(Map<String, String> fieldValues,
+                                 Map<String, Boolean> checkedInputs,
+                                 Map<FormError, ErrorState> errors,
+                                 boolean formVisible,
+                                 boolean resultsVisible,
+                                 boolean cannotCalculateVisible,
+                                 List<Offer> offers) {
+
+    public enum FormError {
+        AGE("eletkor_error", "Age error"),
+        PROPERTY_VALUE("ingatlan_erteke_error", "Property value error"),
+        MONTHLY_INCOME("mjovedelem_error", "Monthly income error"),
+        EXISTING_LOAN_REPAYMENT("meglevo_torleszto_error", "Existing loan repayment error");
+
+        private final String elementId;
+        private final String label;
+
+        FormError(String elementId, String label) {
+            this.elementId = elementId;
+            this.label = label;
+        }
+
+        public String getElementId() {
+            return elementId;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /**
+     * @param visible true if the error element is displayed
+     * @param text Trimmed text of the error element
+     */
+    public record ErrorState(boolean visible, String text) {
+
+        /**
+         * An error only counts as displayed if it is visible and actually says something
+         */
+        public boolean isDisplayed() {
+            return visible && !text.isEmpty();
+        }
+    }
+
+    /**
+     * @param index 1-based number of the offer box ({@code #box_1}, {@code #box_2}, ...)
+     * @param visible true if the offer box is displayed
+     * @param maxLoanAmount Text of {@code #box_N_max_desktop}
+     * @param monthlyRepayment Text of {@code #box_N_torleszto}
+     * @param apr Text of {@code #box_N_thm}
+     */
+    public record Offer(int index, boolean visible, String maxLoanAmount, String monthlyRepayment, String apr) {
+    }
+
+    public boolean isErrorDisplayed(FormError error) {
+        ErrorState state = errors.get(error);
+        return state != null && state.isDisplayed();
+    }
+
+    /**
+     * @return Text of the error if it is visible, empty string otherwise
+     */
+    public String getErrorText(FormError error) {
+        ErrorState state = errors.get(error);
+        return state != null && state.visible() ? state.text() : "";
+    }
+
+    public boolean isAnyErrorDisplayed() {
+        return errors.values().stream().anyMatch(ErrorState::isDisplayed);
+    }
+
+    /**
+     * @return Every displayed error, prefixed with the name of its field
+     */
+    public List<String> getDisplayedErrorMessages() {
+        List<String> messages = new ArrayList<>();
+        for (FormError error : FormError.values()) {
+            if (isErrorDisplayed(error)) {
+                messages.add(error.getLabel() + ": " + getErrorText(error));
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * @return The first offer box ({@code #box_1}), if it is displayed
+     */
+    public Optional<Offer> getFirstOffer() {
+        return offers.stream().filter(offer -> offer.index() == 1 && offer.visible()).findFirst();
+    }
+}
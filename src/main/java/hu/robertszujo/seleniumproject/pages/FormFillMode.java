@@ -0,0 +1,10 @@
+package hu.robertszujo.seleniumproject.pages;
+
+public enum FormFillMode {
+
+    // Every field is set in one script execution, firing the events the page listens for
+    SCRIPTED,
+
+    // Every field is cleared and typed into through WebDriver, like a real user would
+    REALISTIC_TYPING
+}
@@ -1,15 +1,144 @@
 package hu.robertszujo.seleniumproject.pages;
 
 import com.aventstack.extentreports.ExtentTest;
+import hu.robertszujo.seleniumproject.constants.ElementConstants;
+import hu.robertszujo.seleniumproject.constants.TestConstants;
+import hu.robertszujo.seleniumproject.pages.CalculatorSnapshot.ErrorState;
+import hu.robertszujo.seleniumproject.pages.CalculatorSnapshot.FormError;
+import hu.robertszujo.seleniumproject.pages.CalculatorSnapshot.Offer;
+import hu.robertszujo.seleniumproject.scenario.LoanScenario;
 import hu.robertszujo.seleniumproject.utils.ElementActions;
+import hu.robertszujo.seleniumproject.utils.PageChangeWait;
+import hu.robertszujo.seleniumproject.utils.PageScripts;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class LoanCalculatorPage extends BasePageObject {
 
+    // Error elements shown by the client-side field validation
+    private static final FormFillMode CONFIGURED_FORM_FILL_MODE = FormFillMode.valueOf(TestConstants.FORM_FILL_MODE.toUpperCase());
+
+    private static final String[] FIELD_ERROR_IDS =
+            Arrays.stream(FormError.values()).map(FormError::getElementId).toArray(String[]::new);
+
+    private static final List<String> TEXT_INPUT_IDS =
+            List.of("meletkor", "ingatlan_erteke", "mjovedelem", "meglevo_torleszto");
+
+    private static final List<String> CHOICE_INPUT_IDS =
+            List.of("egyedul", "tobben", "kedvezmeny_jovairasm", "kedvezmeny_babavarom", "kedvezmeny_biztositasm");
+
+    // Elements that change state once a calculation finished (results, "cannot calculate" or a validation error)
+    private static final String[] CALCULATION_OUTCOME_IDS =
+            {"max_eredmeny", "nem_tudunk_kalkulalni", "eletkor_error", "ingatlan_erteke_error", "mjovedelem_error", "meglevo_torleszto_error"};
+
+    // Element that shows each outcome of a calculation, in priority order
+    private static final Map<CalculationOutcome, String> CALCULATION_OUTCOME_SELECTORS = new EnumMap<>(Map.of(
+            CalculationOutcome.AGE_ERROR, "#eletkor_error",
+            CalculationOutcome.FIELD_ERROR, "#ingatlan_erteke_error, #mjovedelem_error, #meglevo_torleszto_error",
+            CalculationOutcome.CANNOT_CALCULATE, "#nem_tudunk_kalkulalni",
+            CalculationOutcome.RESULTS, "#max_eredmeny #box_1, #max_eredmeny #box_2"));
+
+    // Reads fields, errors, sections and offer boxes in one round trip
+    private static final String SNAPSHOT_SCRIPT = """
+            var isVisible = %s;
+            var byId = function (id) { return document.getElementById(id); };
+            var text = function (el) { return el ? (el.innerText || el.textContent || '').trim() : ''; };
+            var fieldValues = {}, checkedInputs = {}, errors = {}, offers = [];
+            arguments[0].forEach(function (id) { var el = byId(id); fieldValues[id] = el ? el.value : ''; });
+            arguments[1].forEach(function (id) { var el = byId(id); checkedInputs[id] = !!el && el.checked; });
+            arguments[2].forEach(function (id) { var el = byId(id); errors[id] = { visible: isVisible(el), text: text(el) }; });
+            for (var n = 1; byId('box_' + n); n++) {
+                offers.push({
+                    index: n,
+                    visible: isVisible(byId('box_' + n)),
+                    maxLoanAmount: text(byId('box_' + n + '_max_desktop')),
+                    monthlyRepayment: text(byId('box_' + n + '_torleszto')),
+                    apr: text(byId('box_' + n + '_thm'))
+                });
+            }
+            return {
+                fieldValues: fieldValues,
+                checkedInputs: checkedInputs,
+                errors: errors,
+                formVisible: isVisible(document.querySelector("div[class='content_hitelmaximum']")),
+                resultsVisible: isVisible(byId('max_eredmeny')),
+                cannotCalculateVisible: isVisible(byId('nem_tudunk_kalkulalni')),
+                offers: offers
+            };
+            """.formatted(PageScripts.IS_VISIBLE_FUNCTION);
+
+    // Sets every form field in one round trip, firing the same events as typing and clicking would
+    private static final String FILL_FORM_SCRIPT = """
+            var form = arguments[0];
+            var fire = function (el, type) { el.dispatchEvent(new Event(type, { bubbles: true })); };
+            var valueSetter = Object.getOwnPropertyDescriptor(HTMLInputElement.prototype, 'value').set;
+            var type = function (id, value) {
+                var el = document.getElementById(id);
+                el.focus();
+                valueSetter.call(el, String(value));
+                fire(el, 'input');
+                fire(el, 'keyup');
+                fire(el, 'change');
+                if (document.activeElement === el) {
+                    el.blur();
+                } else {
+                    // Focus events are not delivered while the window is in the background
+                    el.dispatchEvent(new FocusEvent('blur'));
+                    el.dispatchEvent(new FocusEvent('focusout', { bubbles: true }));
+                }
+            };
+            var check = function (id, checked) {
+                var el = document.getElementById(id);
+                if (el.checked !== checked) el.click();
+            };
+            type('meletkor', form.age);
+            type('ingatlan_erteke', form.propertyValue);
+            check(form.singleEarner ? 'egyedul' : 'tobben', true);
+            type('mjovedelem', form.monthlyIncome);
+            type('meglevo_torleszto', form.existingLoanRepayment);
+            check('kedvezmeny_jovairasm', form.bankAccountCredit);
+            check('kedvezmeny_babavarom', form.babyLoan);
+            check('kedvezmeny_biztositasm', form.insurance);
+            """;
+
+    // Puts the form back to its initial markup state in place and returns that state for verification
+    private static final String RESET_FORM_SCRIPT = """
+            var textInputIds = arguments[0], choiceInputIds = arguments[1];
+            var isVisible = %s;
+            var fire = function (el, type) { el.dispatchEvent(new Event(type, { bubbles: true })); };
+            var valueSetter = Object.getOwnPropertyDescriptor(HTMLInputElement.prototype, 'value').set;
+            var defaults = { fieldValues: {}, checkedInputs: {} };
+            // Leaving the result or "cannot calculate" section the way a visitor would
+            Array.prototype.forEach.call(document.querySelectorAll('.ujrakalkulal'), function (button) {
+                if (isVisible(button)) button.click();
+            });
+            textInputIds.forEach(function (id) {
+                var el = document.getElementById(id);
+                if (!el) return;
+                defaults.fieldValues[id] = el.defaultValue;
+                if (el.value === el.defaultValue) return;
+                valueSetter.call(el, el.defaultValue);
+                fire(el, 'input');
+                fire(el, 'change');
+                el.dispatchEvent(new FocusEvent('blur'));
+            });
+            choiceInputIds.forEach(function (id) {
+                var el = document.getElementById(id);
+                if (!el) return;
+                defaults.checkedInputs[id] = el.defaultChecked;
+                if (el.checked === el.defaultChecked) return;
+                // A radio button cannot be unchecked by clicking it, only by checking another one
+                if (el.defaultChecked) el.click(); else { el.checked = false; fire(el, 'change'); }
+            });
+            return defaults;
+            """.formatted(PageScripts.IS_VISIBLE_FUNCTION);
+
     public LoanCalculatorPage(WebDriver driver, ExtentTest reporter) {
         super(driver, reporter);
     }
@@ -94,14 +223,8 @@ public class LoanCalculatorPage extends BasePageObject {
     // *** Form input methods ***
 
     public boolean isAgeErrorVisible() {
-        try {
-            WebElement errorElement = driver.findElement(By.id("eletkor_error"));
-            // Check if error is actually visible
-            // Some error messages might be in DOM but hidden with display: none
-            return errorElement.isDisplayed();
-        } catch (NoSuchElementException e) {
-            return false;
-        }
+        // Some error messages might be in DOM but hidden with display: none
+        return takeSnapshot().errors().get(FormError.AGE).visible();
     }
 
     public void setCustomerAge(int age) {
@@ -109,6 +232,7 @@ public class LoanCalculatorPage extends BasePageObject {
 
         // Wait for the age input field to be interactable
         ElementActions.waitForElementToBeDisplayed(ageInputField, driver);
+        PageChangeWait validation = PageChangeWait.arm(driver, FIELD_ERROR_IDS);
 
         // Clear existing value and set new age
         ageInputField.clear();
@@ -117,12 +241,7 @@ public class LoanCalculatorPage extends BasePageObject {
         // Trigger blur event if needed
         executeJavaScript("arguments[0].blur();", ageInputField);
 
-        // Small wait for validation to run
-        try {
-            Thread.sleep(500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        waitForFieldValidation(validation);
 
         reporter.pass("Customer age set to: " + age);
     }
@@ -135,10 +254,12 @@ public class LoanCalculatorPage extends BasePageObject {
         reporter.info("Setting property value to: " + value);
 
         ElementActions.waitForElementToBeDisplayed(propertyValueInput, driver);
+        PageChangeWait validation = PageChangeWait.arm(driver, FIELD_ERROR_IDS);
         propertyValueInput.clear();
         propertyValueInput.sendKeys(String.valueOf(value));
 
         executeJavaScript("arguments[0].blur();", propertyValueInput);
+        waitForFieldValidation(validation);
         reporter.pass("Property value set to: " + value);
     }
 
@@ -150,10 +271,12 @@ public class LoanCalculatorPage extends BasePageObject {
         reporter.info("Setting monthly income to: " + income);
 
         ElementActions.waitForElementToBeDisplayed(incomeInput, driver);
+        PageChangeWait validation = PageChangeWait.arm(driver, FIELD_ERROR_IDS);
         incomeInput.clear();
         incomeInput.sendKeys(String.valueOf(income));
 
         executeJavaScript("arguments[0].blur();", incomeInput);
+        waitForFieldValidation(validation);
         reporter.pass("Monthly income set to: " + income);
     }
 
@@ -165,10 +288,12 @@ public class LoanCalculatorPage extends BasePageObject {
         reporter.info("Setting existing loan repayment to: " + amount);
 
         ElementActions.waitForElementToBeDisplayed(existingLoanRepaymentInput, driver);
+        PageChangeWait validation = PageChangeWait.arm(driver, FIELD_ERROR_IDS);
         existingLoanRepaymentInput.clear();
         existingLoanRepaymentInput.sendKeys(String.valueOf(amount));
 
         executeJavaScript("arguments[0].blur();", existingLoanRepaymentInput);
+        waitForFieldValidation(validation);
         reporter.pass("Existing loan repayment set to: " + amount);
     }
 
@@ -235,25 +360,114 @@ public class LoanCalculatorPage extends BasePageObject {
         reporter.pass("Insurance option set to: " + check);
     }
 
+    /**
+     * Fills every field of the calculator form, using the mode configured in {@link TestConstants#FORM_FILL_MODE}
+     * @param scenario Values of all form fields
+     */
+    public void fillForm(LoanScenario scenario) {
+        fillForm(scenario, CONFIGURED_FORM_FILL_MODE);
+    }
+
+    /**
+     * Fills every field of the calculator form
+     * @param scenario Values of all form fields
+     * @param mode SCRIPTED sets all fields in a single script execution, REALISTIC_TYPING types them one by one
+     */
+    public void fillForm(LoanScenario scenario, FormFillMode mode) {
+        if (mode == FormFillMode.REALISTIC_TYPING) {
+            setCustomerAge(scenario.age());
+            setPropertyValue(scenario.propertyValue());
+            selectHouseholdType(scenario.singleEarner());
+            setMonthlyIncome(scenario.monthlyIncome());
+            setExistingLoanRepayment(scenario.existingLoanRepayment());
+            setBankAccountCreditOption(scenario.bankAccountCredit());
+            setBabyLoanOption(scenario.babyLoan());
+            setInsuranceOption(scenario.insurance());
+            return;
+        }
+
+        reporter.info("Filling calculator form with: " + scenario);
+
+        ElementActions.waitForElementToBeDisplayed(calculatorForm, driver);
+        PageChangeWait validation = PageChangeWait.arm(driver, FIELD_ERROR_IDS);
+        ((JavascriptExecutor) driver).executeScript(FILL_FORM_SCRIPT, Map.of(
+                "age", scenario.age(),
+                "propertyValue", scenario.propertyValue(),
+                "singleEarner", scenario.singleEarner(),
+                "monthlyIncome", scenario.monthlyIncome(),
+                "existingLoanRepayment", scenario.existingLoanRepayment(),
+                "bankAccountCredit", scenario.bankAccountCredit(),
+                "babyLoan", scenario.babyLoan(),
+                "insurance", scenario.insurance()));
+        waitForFieldValidation(validation);
+
+        reporter.pass("Calculator form filled");
+    }
+
+    /**
+     * Puts the calculator back to its initial state without reloading the page: inputs and choices get their
+     * default values, validation errors and the result and "cannot calculate" sections disappear.
+     * Reloads the page instead if the reset state cannot be verified.
+     */
+    @SuppressWarnings("unchecked")
+    public void resetForm() {
+        reporter.info("Resetting calculator form");
+
+        PageChangeWait reset = PageChangeWait.arm(driver, CALCULATION_OUTCOME_IDS);
+        Map<String, Object> defaults = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeScript(RESET_FORM_SCRIPT, TEXT_INPUT_IDS, CHOICE_INPUT_IDS);
+        try {
+            reset.awaitSettled(ElementConstants.VALIDATION_QUIET_PERIOD, ElementConstants.MAX_WAIT_DURATION);
+        } catch (TimeoutException e) {
+            // Verified below
+        }
+
+        CalculatorSnapshot snapshot = takeSnapshot();
+        boolean resetVerified = snapshot.formVisible()
+                && !snapshot.resultsVisible()
+                && !snapshot.cannotCalculateVisible()
+                && !snapshot.isAnyErrorDisplayed()
+                && snapshot.fieldValues().equals(defaults.get("fieldValues"))
+                && snapshot.checkedInputs().equals(defaults.get("checkedInputs"));
+        if (resetVerified) {
+            reporter.pass("Calculator form reset");
+            return;
+        }
+
+        reporter.warning("Calculator form could not be reset in place, reloading the page");
+        driver.navigate().refresh();
+        waitForCalculatorFormToBeDisplayed();
+    }
+
     // *** Calculation methods ***
 
     /**
-     * Clicks the "Calculate loan amount" button
+     * Clicks the "Calculate loan amount" button and waits until the page shows an outcome
      */
     public void clickCalculateLoanButton() {
+        CalculationOutcome outcome = calculate();
+        if (outcome == CalculationOutcome.TIMEOUT) {
+            reporter.warning("Page did not react to calculate button within " + ElementConstants.MAX_WAIT_DURATION.toMillis() + " ms");
+        }
+
+        reporter.pass("Clicked calculate loan button");
+    }
+
+    /**
+     * Clicks the "Calculate loan amount" button and classifies what the page shows.
+     * Every outcome is watched at once, so an error resolves as fast as a result.
+     * The form should not show the outcome of an earlier calculation, see {@link #resetForm()}.
+     */
+    public CalculationOutcome calculate() {
         reporter.info("Clicking on 'Mennyi lakáshitelt kaphatok?' button");
 
         ElementActions.waitForElementToBeDisplayed(calculateLoanButton, driver);
         calculateLoanButton.click();
+        CalculationOutcome outcome = ElementActions.waitForFirstDisplayed(driver, CALCULATION_OUTCOME_SELECTORS,
+                CalculationOutcome.TIMEOUT, ElementConstants.MAX_WAIT_DURATION);
 
-        // Wait for calculation to complete (either results or error)
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
-        reporter.pass("Clicked calculate loan button");
+        reporter.info("Calculation outcome: " + outcome);
+        return outcome;
     }
 
     public void waitForResults() {
@@ -289,56 +503,15 @@ public class LoanCalculatorPage extends BasePageObject {
     public boolean isLoanApplicationAvailable() {
         reporter.info("Checking if loan application is available");
 
-        // First check if age error is displayed (age < 18)
-        if (isAgeErrorMessageDisplayed()) {
-            reporter.info("Loan application NOT available - age restriction error");
-            return false;
-        }
-
-        // Click calculate to see if loan is available
-        clickCalculateLoanButton();
-
-        // Check if "cannot calculate" section appears
-        try {
-            ElementActions.waitForElementToBeDisplayed(cannotCalculateSection, driver);
-            if (cannotCalculateSection.isDisplayed()) {
-                reporter.info("Loan application NOT available - cannot calculate section displayed");
-                return false;
-            }
-        } catch (TimeoutException e) {
-            // "Cannot calculate" section not displayed, check for results
-        }
-
-        // Check if results section appears (loan offers)
-        try {
-            ElementActions.waitForElementToBeDisplayed(resultsSection, driver);
-            if (resultsSection.isDisplayed()) {
-                // Check if at least one loan offer is displayed
-                boolean hasLoanOffers = isElementDisplayed("#box_1") || isElementDisplayed("#box_2");
-
-                if (hasLoanOffers) {
-                    reporter.info("Loan application IS available - loan offers displayed");
-                    return true;
-                }
-            }
-        } catch (TimeoutException e) {
-            // Results not displayed
-        }
-
-        reporter.info("Loan application NOT available - no results or offers found");
-        return false;
-    }
-
-    /**
-     * Helper method to check if an element is displayed by CSS selector
-     */
-    private boolean isElementDisplayed(String cssSelector) {
-        try {
-            WebElement element = driver.findElement(org.openqa.selenium.By.cssSelector(cssSelector));
-            return element.isDisplayed();
-        } catch (Exception e) {
-            return false;
+        CalculationOutcome outcome = calculate();
+        switch (outcome) {
+            case RESULTS -> reporter.info("Loan application IS available - loan offers displayed");
+            case AGE_ERROR -> reporter.info("Loan application NOT available - age restriction error");
+            case FIELD_ERROR -> reporter.info("Loan application NOT available - form input error");
+            case CANNOT_CALCULATE -> reporter.info("Loan application NOT available - cannot calculate section displayed");
+            case TIMEOUT -> reporter.info("Loan application NOT available - no results or offers found");
         }
+        return outcome == CalculationOutcome.RESULTS;
     }
 
     /**
@@ -346,15 +519,7 @@ public class LoanCalculatorPage extends BasePageObject {
      * @return Loan amount as string, or empty string if not available
      */
     public String getLoanAmountFromFirstOffer() {
-        try {
-            if (firstLoanOffer.isDisplayed()) {
-                WebElement amountElement = driver.findElement(org.openqa.selenium.By.cssSelector("#box_1_max_desktop"));
-                return amountElement.getText();
-            }
-        } catch (Exception e) {
-            // Element not found or not displayed
-        }
-        return "";
+        return takeSnapshot().getFirstOffer().map(Offer::maxLoanAmount).orElse("");
     }
 
     /**
@@ -362,15 +527,15 @@ public class LoanCalculatorPage extends BasePageObject {
      * @return Monthly repayment as string, or empty string if not available
      */
     public String getMonthlyRepaymentFromFirstOffer() {
-        try {
-            if (firstLoanOffer.isDisplayed()) {
-                WebElement repaymentElement = driver.findElement(org.openqa.selenium.By.cssSelector("#box_1_torleszto"));
-                return repaymentElement.getText();
-            }
-        } catch (Exception e) {
-            // Element not found or not displayed
-        }
-        return "";
+        return takeSnapshot().getFirstOffer().map(Offer::monthlyRepayment).orElse("");
+    }
+
+    /**
+     * Gets the APR (THM) from the first offer box
+     * @return APR as string, or empty string if not available
+     */
+    public String getAprFromFirstOffer() {
+        return takeSnapshot().getFirstOffer().map(Offer::apr).orElse("");
     }
 
     /**
@@ -417,6 +582,17 @@ public class LoanCalculatorPage extends BasePageObject {
         }
     }
 
+    /**
+     * Waits until the field validation triggered by the last input has finished
+     */
+    private void waitForFieldValidation(PageChangeWait validation) {
+        try {
+            validation.awaitSettled(ElementConstants.VALIDATION_QUIET_PERIOD, ElementConstants.MAX_WAIT_DURATION);
+        } catch (TimeoutException e) {
+            reporter.warning("Field validation did not settle: " + e.getMessage());
+        }
+    }
+
     /**
      * Executes JavaScript on an element
      */
@@ -428,6 +604,45 @@ public class LoanCalculatorPage extends BasePageObject {
         }
     }
 
+    // *** Page state snapshot ***
+
+    /**
+     * Reads the whole calculator state (field values, errors, sections and offers) in a single script execution.
+     * Assertions on several parts of the page should run against one snapshot instead of querying elements one by one.
+     */
+    @SuppressWarnings("unchecked")
+    public CalculatorSnapshot takeSnapshot() {
+        Map<String, Object> state = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeScript(SNAPSHOT_SCRIPT, TEXT_INPUT_IDS, CHOICE_INPUT_IDS, Arrays.asList(FIELD_ERROR_IDS));
+
+        Map<String, String> fieldValues = new HashMap<>();
+        ((Map<String, Object>) state.get("fieldValues")).forEach((id, value) -> fieldValues.put(id, String.valueOf(value)));
+
+        Map<String, Boolean> checkedInputs = new HashMap<>();
+        ((Map<String, Object>) state.get("checkedInputs")).forEach((id, checked) -> checkedInputs.put(id, (Boolean) checked));
+
+        Map<String, Object> errorStates = (Map<String, Object>) state.get("errors");
+        Map<FormError, ErrorState> errors = new EnumMap<>(FormError.class);
+        for (FormError error : FormError.values()) {
+            Map<String, Object> errorState = (Map<String, Object>) errorStates.get(error.getElementId());
+            errors.put(error, new ErrorState((Boolean) errorState.get("visible"), (String) errorState.get("text")));
+        }
+
+        List<Offer> offers = ((List<Map<String, Object>>) state.get("offers")).stream()
+                .map(offer -> new Offer(((Number) offer.get("index")).intValue(),
+                        (Boolean) offer.get("visible"),
+                        (String) offer.get("maxLoanAmount"),
+                        (String) offer.get("monthlyRepayment"),
+                        (String) offer.get("apr")))
+                .toList();
+
+        return new CalculatorSnapshot(Map.copyOf(fieldValues), Map.copyOf(checkedInputs), errors,
+                (Boolean) state.get("formVisible"),
+                (Boolean) state.get("resultsVisible"),
+                (Boolean) state.get("cannotCalculateVisible"),
+                offers);
+    }
+
     // *** Error checking methods ***
 
     /**
@@ -435,13 +650,7 @@ public class LoanCalculatorPage extends BasePageObject {
      * Based on HTML pattern: id="eletkor_error"
      */
     public boolean isAgeErrorDisplayed() {
-        try {
-            WebElement errorElement = driver.findElement(By.id("eletkor_error"));
-            return errorElement.isDisplayed() &&
-                    !errorElement.getText().trim().isEmpty();
-        } catch (NoSuchElementException e) {
-            return false;
-        }
+        return takeSnapshot().isErrorDisplayed(FormError.AGE);
     }
 
     /**
@@ -449,13 +658,7 @@ public class LoanCalculatorPage extends BasePageObject {
      * Based on HTML pattern: id="ingatlan_erteke_error"
      */
     public boolean isPropertyValueErrorDisplayed() {
-        try {
-            WebElement errorElement = driver.findElement(By.id("ingatlan_erteke_error"));
-            return errorElement.isDisplayed() &&
-                    !errorElement.getText().trim().isEmpty();
-        } catch (NoSuchElementException e) {
-            return false;
-        }
+        return takeSnapshot().isErrorDisplayed(FormError.PROPERTY_VALUE);
     }
 
     /**
@@ -463,13 +666,7 @@ public class LoanCalculatorPage extends BasePageObject {
      * Based on HTML pattern: id="mjovedelem_error"
      */
     public boolean isMonthlyIncomeErrorDisplayed() {
-        try {
-            WebElement errorElement = driver.findElement(By.id("mjovedelem_error"));
-            return errorElement.isDisplayed() &&
-                    !errorElement.getText().trim().isEmpty();
-        } catch (NoSuchElementException e) {
-            return false;
-        }
+        return takeSnapshot().isErrorDisplayed(FormError.MONTHLY_INCOME);
     }
 
     /**
@@ -477,13 +674,7 @@ public class LoanCalculatorPage extends BasePageObject {
      * Based on HTML pattern: id="meglevo_torleszto_error"
      */
     public boolean isExistingLoanRepaymentErrorDisplayed() {
-        try {
-            WebElement errorElement = driver.findElement(By.id("meglevo_torleszto_error"));
-            return errorElement.isDisplayed() &&
-                    !errorElement.getText().trim().isEmpty();
-        } catch (NoSuchElementException e) {
-            return false;
-        }
+        return takeSnapshot().isErrorDisplayed(FormError.EXISTING_LOAN_REPAYMENT);
     }
 
     // *** Additional methods for checking specific error content ***
@@ -492,48 +683,28 @@ public class LoanCalculatorPage extends BasePageObject {
      * Gets the text of age error message
      */
     public String getAgeErrorText() {
-        try {
-            WebElement errorElement = driver.findElement(By.id("eletkor_error"));
-            return errorElement.isDisplayed() ? errorElement.getText().trim() : "";
-        } catch (NoSuchElementException e) {
-            return "";
-        }
+        return takeSnapshot().getErrorText(FormError.AGE);
     }
 
     /**
      * Gets the text of property value error message
      */
     public String getPropertyValueErrorText() {
-        try {
-            WebElement errorElement = driver.findElement(By.id("ingatlan_erteke_error"));
-            return errorElement.isDisplayed() ? errorElement.getText().trim() : "";
-        } catch (NoSuchElementException e) {
-            return "";
-        }
+        return takeSnapshot().getErrorText(FormError.PROPERTY_VALUE);
     }
 
     /**
      * Gets the text of monthly income error message
      */
     public String getMonthlyIncomeErrorText() {
-        try {
-            WebElement errorElement = driver.findElement(By.id("mjovedelem_error"));
-            return errorElement.isDisplayed() ? errorElement.getText().trim() : "";
-        } catch (NoSuchElementException e) {
-            return "";
-        }
+        return takeSnapshot().getErrorText(FormError.MONTHLY_INCOME);
     }
 
     /**
      * Gets the text of existing loan repayment error message
      */
     public String getExistingLoanRepaymentErrorText() {
-        try {
-            WebElement errorElement = driver.findElement(By.id("meglevo_torleszto_error"));
-            return errorElement.isDisplayed() ? errorElement.getText().trim() : "";
-        } catch (NoSuchElementException e) {
-            return "";
-        }
+        return takeSnapshot().getErrorText(FormError.EXISTING_LOAN_REPAYMENT);
     }
 
     // *** Helper method to check if any form error is visible ***
@@ -543,10 +714,7 @@ public class LoanCalculatorPage extends BasePageObject {
      * @return true if at least one error message is displayed
      */
     public boolean isAnyFormErrorVisible() {
-        return isAgeErrorDisplayed() ||
-                isPropertyValueErrorDisplayed() ||
-                isMonthlyIncomeErrorDisplayed() ||
-                isExistingLoanRepaymentErrorDisplayed();
+        return takeSnapshot().isAnyErrorDisplayed();
     }
 
     /**
@@ -554,21 +722,6 @@ public class LoanCalculatorPage extends BasePageObject {
      * @return List of error messages that are currently displayed
      */
     public List<String> getAllVisibleErrorMessages() {
-        List<String> errors = new ArrayList<>();
-
-        if (isAgeErrorDisplayed()) {
-            errors.add("Age error: " + getAgeErrorText());
-        }
-        if (isPropertyValueErrorDisplayed()) {
-            errors.add("Property value error: " + getPropertyValueErrorText());
-        }
-        if (isMonthlyIncomeErrorDisplayed()) {
-            errors.add("Monthly income error: " + getMonthlyIncomeErrorText());
-        }
-        if (isExistingLoanRepaymentErrorDisplayed()) {
-            errors.add("Existing loan repayment error: " + getExistingLoanRepaymentErrorText());
-        }
-
-        return errors;
+        return takeSnapshot().getDisplayedErrorMessages();
     }
-}
\ No newline at end of file
+}
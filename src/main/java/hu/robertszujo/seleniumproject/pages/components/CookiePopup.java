@@ -3,6 +3,7 @@ package hu.robertszujo.seleniumproject.pages.components;
 import com.aventstack.extentreports.ExtentTest;
 import hu.robertszujo.seleniumproject.pages.BasePageObject;
 import hu.robertszujo.seleniumproject.utils.ElementActions;
+import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -33,6 +34,17 @@ public class CookiePopup extends BasePageObject {
         }
     }
 
+    /**
+     * Checks the popup once, without waiting for it
+     */
+    public boolean isCookiePopupDisplayed() {
+        try {
+            return cookiePopup.isDisplayed();
+        } catch (NoSuchElementException e) {
+            return false;
+        }
+    }
+
     public void waitForCookiePopupToBeDisplayed() {
         reporter.info("Waiting for cookie popup to be displayed");
         ElementActions.waitForElementToBeDisplayed(cookiePopup, driver);
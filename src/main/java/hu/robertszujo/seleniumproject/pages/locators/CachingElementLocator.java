@@ -0,0 +1,67 @@
+package hu.robertszujo.seleniumproject.pages.locators;
+
+import hu.robertszujo.seleniumproject.context.TestSession;
+import hu.robertszujo.seleniumproject.context.TestSessions;
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Locates the element of one page object field and keeps it until the session navigates away.
+ * Only caches inside a test session, which counts the navigations and the lookups saved by the cache;
+ * outside of a session every access looks the element up again, like the default PageFactory locator.
+ */
+public class CachingElementLocator implements ElementLocator {
+
+    private final SearchContext searchContext;
+    private final By by;
+    private WebElement cachedElement;
+    private int cachedAtNavigation;
+
+    public CachingElementLocator(SearchContext searchContext, Field field) {
+        this.searchContext = searchContext;
+        this.by = new Annotations(field).buildBy();
+    }
+
+    @Override
+    public WebElement findElement() {
+        Optional<TestSession> session = TestSessions.find();
+        if (cachedElement != null && session.isPresent() && session.get().getNavigationCount() == cachedAtNavigation) {
+            session.get().getRoundTrips().recordSavedLookup();
+            return cachedElement;
+        }
+
+        WebElement element = searchContext.findElement(by);
+        if (session.isPresent()) {
+            cachedElement = element;
+            cachedAtNavigation = session.get().getNavigationCount();
+        }
+        return element;
+    }
+
+    /**
+     * Lists are not cached, their size may change without a navigation
+     */
+    @Override
+    public List<WebElement> findElements() {
+        return searchContext.findElements(by);
+    }
+
+    /**
+     * Drops the cached element, e.g. after the page replaced it
+     */
+    public void invalidate() {
+        cachedElement = null;
+    }
+
+    @Override
+    public String toString() {
+        return "Caching locator for " + by;
+    }
+}
@@ -0,0 +1,20 @@
+package hu.robertszujo.seleniumproject.pages.locators;
+
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
+
+import java.lang.reflect.Field;
+
+public class CachingElementLocatorFactory implements ElementLocatorFactory {
+
+    private final SearchContext searchContext;
+
+    public CachingElementLocatorFactory(SearchContext searchContext) {
+        this.searchContext = searchContext;
+    }
+
+    @Override
+    public CachingElementLocator createLocator(Field field) {
+        return new CachingElementLocator(searchContext, field);
+    }
+}
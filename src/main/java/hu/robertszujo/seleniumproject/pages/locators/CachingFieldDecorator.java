@@ -0,0 +1,71 @@
+package hu.robertszujo.seleniumproject.pages.locators;
+
+import hu.robertszujo.seleniumproject.context.TestSessions;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * PageFactory field decorator whose element proxies resolve through a {@link CachingElementLocator}.
+ * A call that hits a stale cached element, because the page replaced it without navigating,
+ * looks the element up once more and repeats the call transparently.
+ * <p>
+ * Applied with {@code PageFactory.initElements(new CachingFieldDecorator(new CachingElementLocatorFactory(driver)), page)}.
+ */
+public class CachingFieldDecorator extends DefaultFieldDecorator {
+
+    public CachingFieldDecorator(CachingElementLocatorFactory factory) {
+        super(factory);
+    }
+
+    @Override
+    protected WebElement proxyForLocator(ClassLoader loader, ElementLocator locator) {
+        return (WebElement) Proxy.newProxyInstance(loader, new Class<?>[]{WebElement.class, WrapsElement.class, Locatable.class},
+                new CachingElementHandler((CachingElementLocator) locator));
+    }
+
+    private static final class CachingElementHandler implements InvocationHandler {
+
+        private final CachingElementLocator locator;
+
+        private CachingElementHandler(CachingElementLocator locator) {
+            this.locator = locator;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            WebElement element;
+            try {
+                element = locator.findElement();
+            } catch (NoSuchElementException e) {
+                if ("toString".equals(method.getName())) return "Proxy element for: " + locator;
+                throw e;
+            }
+            if ("getWrappedElement".equals(method.getName())) return element;
+
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                if (!(e.getCause() instanceof StaleElementReferenceException)) throw e.getCause();
+            }
+
+            // A stale element never received the call, so repeating it on the new element is safe
+            locator.invalidate();
+            TestSessions.find().ifPresent(session -> session.getRoundTrips().recordStaleRelookup());
+            try {
+                return method.invoke(locator.findElement(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package hu.robertszujo.seleniumproject.reporter;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.model.Log;
+import com.aventstack.extentreports.model.Media;
+import com.aventstack.extentreports.model.Test;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only JSON Lines log of finished tests. Every line is one test with its logs, media and child nodes.
+ * <p>
+ * A test is written and flushed as soon as it finishes and is then removed from the in-memory report,
+ * so heap usage does not grow with the number of tests and a killed JVM still leaves every finished test on disk.
+ * The HTML is rendered from the log by {@link ReportRenderer}, which holds the tests of one HTML file in memory.
+ */
+public class ReportEventLog implements AutoCloseable {
+
+    private static final Json JSON = new Json();
+
+    private final Path file;
+    private final BufferedWriter writer;
+    // Names of the tests that could not be written, they are missing from the rendered report
+    private final List<String> unwrittenTests = Collections.synchronizedList(new ArrayList<>());
+
+    public ReportEventLog(Path file) throws IOException {
+        this.file = file;
+        Files.createDirectories(file.getParent());
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Writes a finished test to the log and removes it from its in-memory report
+     * @throws UncheckedIOException if the log could not be written; the test is then kept in memory
+     */
+    public void append(ExtentTest test) {
+        StringBuilder line = new StringBuilder();
+        // Same monitor as the background writers of the test, see ScreenshotPipeline
+        synchronized (test.getModel()) {
+            try (JsonOutput output = JSON.newOutput(line)) {
+                output.setPrettyPrint(false).write(toEvent(test.getModel()));
+            }
+        }
+
+        synchronized (writer) {
+            try {
+                writer.write(line.toString());
+                writer.newLine();
+                writer.flush();
+            } catch (IOException e) {
+                unwrittenTests.add(test.getModel().getName());
+                throw new UncheckedIOException("Could not write report event log " + file, e);
+            }
+        }
+        test.getExtent().removeTest(test);
+    }
+
+    /**
+     * @return Names of the tests whose append failed
+     */
+    public List<String> getUnwrittenTests() {
+        return List.copyOf(unwrittenTests);
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (writer) {
+            writer.close();
+        }
+    }
+
+    private static Map<String, Object> toEvent(Test test) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("name", test.getName());
+        putIfPresent(event, "description", test.getDescription());
+        event.put("status", test.getStatus().name());
+        event.put("startTime", test.getStartTime().getTime());
+        event.put("endTime", test.getEndTime().getTime());
+
+        List<Map<String, Object>> logs = new ArrayList<>();
+        for (Log log : test.getLogs()) {
+            Map<String, Object> logEvent = new LinkedHashMap<>();
+            logEvent.put("status", log.getStatus().name());
+            logEvent.put("timestamp", log.getTimestamp().getTime());
+            putIfPresent(logEvent, "details", log.getDetails());
+            if (log.hasException()) logEvent.put("exception", log.getException().getStackTrace());
+            if (log.hasMedia()) logEvent.put("media", toEvent(log.getMedia()));
+            logs.add(logEvent);
+        }
+        event.put("logs", logs);
+        event.put("media", test.getMedia().stream().map(ReportEventLog::toEvent).toList());
+        event.put("children", test.getChildren().stream().map(ReportEventLog::toEvent).toList());
+        return event;
+    }
+
+    private static Map<String, Object> toEvent(Media media) {
+        // Base64 screenshots are not supported, the screenshot store only ever links to files
+        Map<String, Object> event = new LinkedHashMap<>();
+        putIfPresent(event, "path", media.getPath());
+        putIfPresent(event, "title", media.getTitle());
+        return event;
+    }
+
+    private static void putIfPresent(Map<String, Object> event, String key, String value) {
+        if (value != null && !value.isEmpty()) event.put(key, value);
+    }
+}
@@ -0,0 +1,158 @@
+package hu.robertszujo.seleniumproject.reporter;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import hu.robertszujo.seleniumproject.utils.JsonFiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Combines the partial reports of a sharded run into one HTML report, with a table of the timings of every shard.
+ * Every shard writes an event log, e.g. {@code Report_x_shard-1-of-4.jsonl}, with its screenshots and the list of
+ * its test methods ({@code Report_x_shard-1-of-4.methods.json}) next to it.
+ * The merge fails if a test method, apart from data-driven ones, did not run in exactly one shard.
+ * Shards that ran on other machines need their report folder copied into one folder first:
+ * <pre>
+ * java -cp ... hu.robertszujo.seleniumproject.reporter.ReportMerger target/reports/Report_merged.html target/reports/Report_x_shard-*.jsonl
+ * </pre>
+ */
+public class ReportMerger {
+
+    private static final String[] TIMINGS_HEADER = {"Shard", "Tests", "Started", "Finished", "Wall clock s", "Test time s"};
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ReportMerger <merged html report> <shard event log>...");
+            System.exit(2);
+        }
+        List<Path> eventLogs = Arrays.stream(args).skip(1).map(Path::of).sorted().toList();
+        merge(eventLogs, new ExtentSparkReporter(args[0]));
+    }
+
+    public static void merge(List<Path> eventLogs, ExtentSparkReporter reporter) throws IOException {
+        List<ShardTimings> timings = new ArrayList<>();
+        for (Path eventLog : eventLogs) {
+            timings.add(readTimings(eventLog));
+        }
+
+        List<String> coverageProblems = checkMethodCoverage(eventLogs);
+
+        ExtentReports report = ReportRenderer.rebuild(eventLogs, reporter);
+        addTimings(report.createTest("Shard timings", "Wall clock and summed test time of every shard of the run"), timings);
+        ExtentTest coverage = report.createTest("Shard coverage", "Every test method ran in exactly one shard");
+        if (coverageProblems.isEmpty()) {
+            coverage.pass("Every test method ran in exactly one shard");
+        } else {
+            coverageProblems.forEach(coverage::fail);
+        }
+        report.flush();
+
+        if (!coverageProblems.isEmpty()) {
+            throw new IllegalStateException("Shards did not run every test method exactly once: " + coverageProblems);
+        }
+    }
+
+    /**
+     * @return The file next to the event log of a shard with the test methods of the suite and of the shard
+     */
+    public static Path methodsFileOf(Path eventLog) {
+        String name = eventLog.getFileName().toString();
+        int extension = name.lastIndexOf('.');
+        return eventLog.resolveSibling((extension < 0 ? name : name.substring(0, extension)) + ".methods.json");
+    }
+
+    /**
+     * @return A description of every method that ran in no shard or in more than one, empty if the split was consistent
+     */
+    private static List<String> checkMethodCoverage(List<Path> eventLogs) {
+        List<String> problems = new ArrayList<>();
+        Set<String> suiteMethods = null;
+        Map<String, List<String>> shardsByMethod = new TreeMap<>();
+        for (Path eventLog : eventLogs) {
+            Path methodsFile = methodsFileOf(eventLog);
+            if (!Files.exists(methodsFile)) {
+                problems.add("No method list next to " + eventLog + ", the shard did not finish");
+                continue;
+            }
+            Map<String, Object> methods = JsonFiles.read(methodsFile);
+            String shard = String.valueOf(methods.get("shard"));
+            Set<String> shardSuiteMethods = new TreeSet<>(stringsOf(methods.get("suiteMethods")));
+            if (suiteMethods == null) {
+                suiteMethods = shardSuiteMethods;
+            } else if (!suiteMethods.equals(shardSuiteMethods)) {
+                problems.add(shard + " was planned with a different list of test methods");
+                suiteMethods.addAll(shardSuiteMethods);
+            }
+            stringsOf(methods.get("ranMethods")).forEach(method -> shardsByMethod.computeIfAbsent(method, m -> new ArrayList<>()).add(shard));
+        }
+
+        if (suiteMethods == null) return problems;
+        for (String method : suiteMethods) {
+            List<String> shards = shardsByMethod.getOrDefault(method, List.of());
+            if (shards.size() != 1) problems.add(method + " ran in " + (shards.isEmpty() ? "no shard" : shards));
+        }
+        return problems;
+    }
+
+    private static List<String> stringsOf(Object list) {
+        return list instanceof List<?> values ? values.stream().map(String::valueOf).toList() : List.of();
+    }
+
+    private static ShardTimings readTimings(Path eventLog) throws IOException {
+        long[] timings = {0, Long.MAX_VALUE, Long.MIN_VALUE, 0};
+        ReportRenderer.forEachEvent(eventLog, event -> {
+            long start = ((Number) event.get("startTime")).longValue();
+            long end = ((Number) event.get("endTime")).longValue();
+            timings[0]++;
+            timings[1] = Math.min(timings[1], start);
+            timings[2] = Math.max(timings[2], end);
+            timings[3] += end - start;
+        });
+        return new ShardTimings(eventLog.getFileName().toString(), (int) timings[0], timings[1], timings[2], timings[3]);
+    }
+
+    private static void addTimings(ExtentTest reporter, List<ShardTimings> shards) {
+        List<String[]> rows = new ArrayList<>();
+        rows.add(TIMINGS_HEADER);
+        shards.forEach(shard -> rows.add(shard.toRow()));
+
+        List<ShardTimings> nonEmpty = shards.stream().filter(shard -> shard.tests() > 0).toList();
+        if (!nonEmpty.isEmpty()) {
+            long firstStart = nonEmpty.stream().mapToLong(ShardTimings::firstStart).min().getAsLong();
+            long lastEnd = nonEmpty.stream().mapToLong(ShardTimings::lastEnd).max().getAsLong();
+            rows.add(new ShardTimings("All shards", nonEmpty.stream().mapToInt(ShardTimings::tests).sum(), firstStart, lastEnd,
+                    nonEmpty.stream().mapToLong(ShardTimings::testMillis).sum()).toRow());
+        }
+        reporter.info(MarkupHelper.createTable(rows.toArray(String[][]::new)));
+    }
+
+    /**
+     * @param firstStart Start of the earliest test, epoch millis
+     * @param lastEnd End of the latest test, epoch millis
+     * @param testMillis Summed duration of every test
+     */
+    private record ShardTimings(String name, int tests, long firstStart, long lastEnd, long testMillis) {
+
+        private String[] toRow() {
+            if (tests == 0) return new String[]{name, "0", "", "", "", ""};
+            return new String[]{name, String.valueOf(tests), Instant.ofEpochMilli(firstStart).toString(),
+                    Instant.ofEpochMilli(lastEnd).toString(), seconds(lastEnd - firstStart), seconds(testMillis)};
+        }
+
+        private static String seconds(long millis) {
+            return String.format("%.1f", millis / 1000.0);
+        }
+    }
+}
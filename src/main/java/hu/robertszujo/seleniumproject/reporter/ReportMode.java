@@ -0,0 +1,11 @@
+package hu.robertszujo.seleniumproject.reporter;
+
+public enum ReportMode {
+
+    // Every test stays in memory until the report is flushed at the end of the suite
+    IN_MEMORY,
+
+    // Every finished test is appended to an event log on disk and the HTML is rendered from that log.
+    // Rendering builds every test of an HTML file in memory again, see ReportConstants.REPORT_TESTS_PER_FILE
+    INCREMENTAL
+}
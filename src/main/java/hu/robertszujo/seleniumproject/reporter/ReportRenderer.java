@@ -0,0 +1,141 @@
+package hu.robertszujo.seleniumproject.reporter;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.MediaEntityBuilder;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.aventstack.extentreports.model.Log;
+import com.aventstack.extentreports.model.Media;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import org.openqa.selenium.json.Json;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Renders the HTML report from a {@link ReportEventLog}. Runs at the end of the suite, or on demand
+ * against the log of a running or killed suite:
+ * <pre>
+ * java -cp ... hu.robertszujo.seleniumproject.reporter.ReportRenderer target/reports/Report_x.jsonl target/reports/Report_x.html [tests per file]
+ * </pre>
+ * The HTML has to be written next to the log, as screenshots are linked relative to the report folder.
+ * <p>
+ * ExtentReports builds a whole HTML file in memory, so rendering holds every test of a file in the heap.
+ * With a number of tests per file the report is split into {@code Report_x_part1.html}, {@code Report_x_part2.html}, ...
+ * and the heap of the render stays bounded by one part.
+ */
+public class ReportRenderer {
+
+    private static final Json JSON = new Json();
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2 && args.length != 3) {
+            System.err.println("Usage: ReportRenderer <event log> <html report> [tests per file]");
+            System.exit(2);
+        }
+        render(Path.of(args[0]), Path.of(args[1]), args.length == 3 ? Integer.parseInt(args[2]) : 0);
+    }
+
+    /**
+     * Rebuilds every logged test into fresh reports and flushes them
+     * @param htmlReport Report file, or the name the parts are numbered after
+     * @param testsPerFile Tests per HTML file, 0 renders every test into the report file
+     */
+    public static void render(Path eventLog, Path htmlReport, int testsPerFile) throws IOException {
+        if (testsPerFile <= 0) {
+            rebuild(List.of(eventLog), new ExtentSparkReporter(htmlReport.toFile())).flush();
+            return;
+        }
+
+        ExtentReports[] part = {null};
+        int[] tests = {0};
+        forEachEvent(eventLog, event -> {
+            if (tests[0] % testsPerFile == 0) {
+                if (part[0] != null) part[0].flush();
+                part[0] = new ExtentReports();
+                part[0].attachReporter(new ExtentSparkReporter(partOf(htmlReport, tests[0] / testsPerFile + 1).toFile()));
+            }
+            rebuild(event, part[0].createTest((String) event.get("name"), (String) event.get("description")));
+            tests[0]++;
+        });
+        if (part[0] != null) part[0].flush();
+    }
+
+    /**
+     * @param number 1-based number of the part
+     * @return File of a part of the report, e.g. {@code Report_x_part2.html} for {@code Report_x.html}
+     */
+    public static Path partOf(Path htmlReport, int number) {
+        String fileName = htmlReport.getFileName().toString();
+        int extension = fileName.lastIndexOf('.');
+        String baseName = extension < 0 ? fileName : fileName.substring(0, extension);
+        return htmlReport.resolveSibling(baseName + "_part" + number + (extension < 0 ? "" : fileName.substring(extension)));
+    }
+
+    /**
+     * Rebuilds every test of the given logs, in log order, into a fresh report attached to the given reporter
+     * @return The report, not flushed yet
+     */
+    public static ExtentReports rebuild(List<Path> eventLogs, ExtentSparkReporter reporter) throws IOException {
+        ExtentReports report = new ExtentReports();
+        report.attachReporter(reporter);
+
+        for (Path eventLog : eventLogs) {
+            forEachEvent(eventLog, event ->
+                    rebuild(event, report.createTest((String) event.get("name"), (String) event.get("description"))));
+        }
+        return report;
+    }
+
+    /**
+     * Reads the finished tests of an event log one by one
+     */
+    public static void forEachEvent(Path eventLog, Consumer<Map<String, Object>> consumer) throws IOException {
+        try (BufferedReader lines = Files.newBufferedReader(eventLog, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                // A JVM killed mid-write leaves at most one incomplete last line
+                if (line.isBlank() || !line.endsWith("}")) continue;
+                consumer.accept(JSON.toType(line, Json.MAP_TYPE));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void rebuild(Map<String, Object> event, ExtentTest test) {
+        for (Map<String, Object> log : (List<Map<String, Object>>) event.get("logs")) {
+            Status status = Status.valueOf((String) log.get("status"));
+            Media media = toMedia((Map<String, Object>) log.get("media"));
+            if (log.containsKey("exception")) {
+                test.log(status, MarkupHelper.createCodeBlock((String) log.get("exception")));
+            } else {
+                test.log(status, (String) log.get("details"), media);
+            }
+            // Logs get the time of rendering, the original timestamp is restored
+            List<Log> logs = test.getModel().getLogs();
+            logs.get(logs.size() - 1).setTimestamp(new Date(((Number) log.get("timestamp")).longValue()));
+        }
+        for (Map<String, Object> media : (List<Map<String, Object>>) event.get("media")) {
+            test.addMedia(toMedia(media));
+        }
+        for (Map<String, Object> child : (List<Map<String, Object>>) event.get("children")) {
+            rebuild(child, test.createNode((String) child.get("name"), (String) child.get("description")));
+        }
+
+        test.getModel().setStartTime(new Date(((Number) event.get("startTime")).longValue()));
+        test.getModel().setEndTime(new Date(((Number) event.get("endTime")).longValue()));
+    }
+
+    private static Media toMedia(Map<String, Object> media) {
+        if (media == null || !media.containsKey("path")) return null;
+        return MediaEntityBuilder.createScreenCaptureFromPath((String) media.get("path"), (String) media.get("title")).build();
+    }
+}
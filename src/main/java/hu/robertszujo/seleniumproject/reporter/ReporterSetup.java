@@ -1,15 +1,19 @@
 package hu.robertszujo.seleniumproject.reporter;
 
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import hu.robertszujo.seleniumproject.constants.ShardConstants;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 public class ReporterSetup {
 
     private final String reportFolderPath = System.getProperty("user.dir") + File.separator + "target" + File.separator + "reports";
-    private final String reportFileName = "Report_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".html";
+    //Shards of one run write their partial reports into the same folder, see ReportMerger
+    private final String reportName = ShardConstants.SHARD.qualify("Report_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")));
+    private final String reportFileName = reportName + ".html";
 
     public ExtentSparkReporter createReporter() {
         //Create report folder first if it does not exist
@@ -17,7 +21,24 @@ public class ReporterSetup {
         if (!reportFolder.exists()) reportFolder.mkdir();
 
         ExtentSparkReporter reporter = new ExtentSparkReporter(new File(reportFolderPath + File.separator + reportFileName));
-        reporter.config().thumbnailForBase64(true);
         return reporter;
     }
+
+    /**
+     * @return The HTML report of this run
+     */
+    public Path getReportPath() {
+        return getReportFolderPath().resolve(reportFileName);
+    }
+
+    public Path getReportFolderPath() {
+        return Path.of(reportFolderPath);
+    }
+
+    /**
+     * @return Event log of the incremental report mode, next to the HTML report of the same run
+     */
+    public Path getEventLogPath() {
+        return getReportFolderPath().resolve(reportName + ".jsonl");
+    }
 }
@@ -0,0 +1,133 @@
+package hu.robertszujo.seleniumproject.reporter;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.MediaEntityBuilder;
+import com.aventstack.extentreports.model.Media;
+import hu.robertszujo.seleniumproject.constants.ReportConstants;
+import hu.robertszujo.seleniumproject.utils.WebDriverUtils;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Captures screenshots on the test thread and encodes and attaches them on a bounded background executor,
+ * so the next test can start while the image is processed.
+ * <p>
+ * Chromium sessions return a JPEG at the configured quality directly through the DevTools
+ * {@code Page.captureScreenshot} command; other drivers fall back to a PNG that is transcoded in the background.
+ * The images are written to a {@link ScreenshotStore} and the report only links to them.
+ * <p>
+ * ExtentReports test nodes are not thread-safe. Writers that may run after the test thread moved on,
+ * like the attaching thread here, hold the monitor of the node's model while they touch it.
+ */
+public class ScreenshotPipeline {
+
+    private final int jpegQuality;
+    private final int maxWidth;
+    private final ScreenshotStore store;
+    private final ThreadPoolExecutor executor;
+
+    public ScreenshotPipeline(ScreenshotStore store) {
+        this(store, ReportConstants.SCREENSHOT_JPEG_QUALITY, ReportConstants.SCREENSHOT_MAX_WIDTH);
+    }
+
+    /**
+     * @param store Where the encoded screenshots are written
+     * @param jpegQuality JPEG quality, 1-100
+     * @param maxWidth Screenshots wider than this are downscaled into thumbnails, 0 keeps the original size
+     */
+    public ScreenshotPipeline(ScreenshotStore store, int jpegQuality, int maxWidth) {
+        this.store = store;
+        this.jpegQuality = jpegQuality;
+        this.maxWidth = maxWidth;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        // When the queue is full the test thread encodes the screenshot itself instead of queueing without bound
+        this.executor = new ThreadPoolExecutor(ReportConstants.SCREENSHOT_THREADS, ReportConstants.SCREENSHOT_THREADS,
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(ReportConstants.SCREENSHOT_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "screenshot-pipeline-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Takes a screenshot of the visible screen and attaches it to the reporter in the background
+     * @return completes once the screenshot is attached, or once attaching failed
+     */
+    public CompletableFuture<Void> captureAndAttach(WebDriver driver, ExtentTest reporter, String title) {
+        CapturedScreenshot screenshot;
+        try {
+            // Only this part needs the browser, it has to happen before the session is released
+            screenshot = capture(driver);
+        } catch (Exception e) {
+            reporter.info("Could not attach screenshot of the last visible screen!");
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return CompletableFuture.runAsync(() -> attach(screenshot, reporter, title), executor);
+    }
+
+    /**
+     * Waits until every queued screenshot is attached. Must be called before the report is flushed.
+     */
+    public void shutdown(Duration timeout) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private CapturedScreenshot capture(WebDriver driver) {
+        if (driver instanceof HasCdp cdp) {
+            Map<String, Object> result = cdp.executeCdpCommand("Page.captureScreenshot",
+                    Map.of("format", "jpeg", "quality", jpegQuality));
+            return new CapturedScreenshot((String) result.get("data"), null);
+        }
+        return new CapturedScreenshot(null, ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES));
+    }
+
+    private void attach(CapturedScreenshot screenshot, ExtentTest reporter, String title) {
+        try {
+            byte[] jpeg;
+            if (screenshot.base64Jpeg() != null) {
+                jpeg = Base64.getDecoder().decode(screenshot.base64Jpeg());
+                // Already the final format unless it has to be downscaled
+                if (maxWidth > 0) jpeg = WebDriverUtils.toJpeg(jpeg, jpegQuality, maxWidth);
+            } else {
+                jpeg = WebDriverUtils.toJpeg(screenshot.png(), jpegQuality, maxWidth);
+            }
+            Media media = MediaEntityBuilder.createScreenCaptureFromPath(store.store(jpeg)).build();
+            synchronized (reporter.getModel()) {
+                reporter.info(title, media);
+            }
+        } catch (Exception e) {
+            synchronized (reporter.getModel()) {
+                reporter.info("Could not attach screenshot of the last visible screen!");
+            }
+        }
+    }
+
+    /**
+     * Exactly one of the two fields is set, depending on how the screenshot was taken
+     */
+    private record CapturedScreenshot(String base64Jpeg, byte[] png) {
+    }
+}
@@ -0,0 +1,26 @@
+package hu.robertszujo.seleniumproject.reporter;
+
+public enum ScreenshotPolicy {
+
+    // Every passed and failed test gets a screenshot
+    ALWAYS,
+
+    // Only failed tests get a screenshot
+    FAILURES_ONLY,
+
+    // Failed tests and a fixed share of the passed tests get a screenshot
+    SAMPLED;
+
+    /**
+     * @param failed true if the test failed
+     * @param testId Identifies the test invocation; the same test is always sampled the same way
+     * @param sampleRate Share of passed tests captured by SAMPLED, between 0 and 1
+     */
+    public boolean shouldCapture(boolean failed, String testId, double sampleRate) {
+        return switch (this) {
+            case ALWAYS -> true;
+            case FAILURES_ONLY -> failed;
+            case SAMPLED -> failed || Math.floorMod(testId.hashCode(), 10_000) < sampleRate * 10_000;
+        };
+    }
+}
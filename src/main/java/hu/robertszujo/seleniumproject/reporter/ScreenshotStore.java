@@ -0,0 +1,61 @@
+package hu.robertszujo.seleniumproject.reporter;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Content-addressed screenshot storage: every image is written once under the hash of its bytes,
+ * so identical screens captured by many tests share one file and the report only links to it.
+ */
+public class ScreenshotStore {
+
+    public static final String MEDIA_FOLDER_NAME = "media";
+
+    private final Path mediaFolder;
+    private final Set<String> storedHashes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param reportFolder Folder of the HTML report, the images go into its media subfolder
+     */
+    public ScreenshotStore(Path reportFolder) throws IOException {
+        this.mediaFolder = Files.createDirectories(reportFolder.resolve(MEDIA_FOLDER_NAME));
+    }
+
+    /**
+     * Stores a JPEG image unless the same image is already stored
+     * @return Path of the image relative to the report folder
+     */
+    public String store(byte[] jpeg) throws IOException {
+        String fileName = sha256(jpeg) + ".jpg";
+        if (storedHashes.add(fileName)) {
+            Path target = mediaFolder.resolve(fileName);
+            if (!Files.exists(target)) {
+                // Written to a temporary file first, so a report never links to a half-written image
+                Path temporary = Files.createTempFile(mediaFolder, "screenshot", ".tmp");
+                Files.write(temporary, jpeg);
+                try {
+                    Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    Files.deleteIfExists(temporary);
+                }
+            }
+        }
+        return MEDIA_FOLDER_NAME + "/" + fileName;
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
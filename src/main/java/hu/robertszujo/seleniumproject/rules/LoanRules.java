@@ -0,0 +1,86 @@
+package hu.robertszujo.seleniumproject.rules;
+
+import hu.robertszujo.seleniumproject.scenario.LoanScenario;
+
+/**
+ * Reference model (oracle) of the calculator rules the suite asserts against the live page: the validation limits,
+ * the 80% loan-to-value and the 48.3M cap of the maximum loan.
+ * <p>
+ * How the real calculator limits the loan by income and existing repayments is not known, so it is not modelled:
+ * {@link #maxLoanAmount(long)} is the exact offer only for inputs whose income does not limit the loan,
+ * for any other input it is an upper bound.
+ * <p>
+ * Every method works on primitives only and allocates nothing, so millions of input tuples can be checked
+ * in-process and the browser is only needed to confirm a sample of them.
+ */
+public final class LoanRules {
+
+    public static final int MIN_AGE = 18;
+    public static final int MAX_AGE = 65;
+    public static final long MIN_PROPERTY_VALUE = 5_000_000;
+    public static final long MIN_INCOME_SINGLE_EARNER = 193_000;
+    public static final long MIN_INCOME_MULTIPLE_EARNERS = 290_000;
+
+    // Existing repayments below the threshold may take 50% of the income, from the threshold on 60%
+    public static final long REPAYMENT_THRESHOLD = 800_000;
+    public static final double REPAYMENT_LIMIT_BELOW_THRESHOLD = 0.5;
+    public static final double REPAYMENT_LIMIT_FROM_THRESHOLD = 0.6;
+
+    public static final double LOAN_TO_VALUE = 0.8;
+    public static final long MAX_LOAN_AMOUNT = 48_300_000;
+
+    // Validation result flags, combined with bitwise or
+    public static final int VALID = 0;
+    public static final int AGE_ERROR = 1;
+    public static final int PROPERTY_VALUE_ERROR = 1 << 1;
+    public static final int MONTHLY_INCOME_ERROR = 1 << 2;
+    public static final int EXISTING_LOAN_REPAYMENT_ERROR = 1 << 3;
+
+    // Returned by maxLoanAmount for an input the page rejects
+    public static final long NOT_AVAILABLE = 0;
+
+    private LoanRules() {
+    }
+
+    /**
+     * @return VALID, or the error flags of every field the page marks as invalid
+     */
+    public static int validate(int age, long propertyValue, boolean singleEarner, long monthlyIncome, long existingLoanRepayment) {
+        int errors = VALID;
+        if (age < MIN_AGE || age > MAX_AGE) errors |= AGE_ERROR;
+        if (propertyValue < MIN_PROPERTY_VALUE) errors |= PROPERTY_VALUE_ERROR;
+        if (monthlyIncome < (singleEarner ? MIN_INCOME_SINGLE_EARNER : MIN_INCOME_MULTIPLE_EARNERS)) errors |= MONTHLY_INCOME_ERROR;
+        if (existingLoanRepayment > monthlyIncome * repaymentLimitRatio(existingLoanRepayment)) errors |= EXISTING_LOAN_REPAYMENT_ERROR;
+        return errors;
+    }
+
+    public static int validate(LoanScenario scenario) {
+        return validate(scenario.age(), scenario.propertyValue(), scenario.singleEarner(),
+                scenario.monthlyIncome(), scenario.existingLoanRepayment());
+    }
+
+    public static boolean hasError(int validationResult, int errorFlag) {
+        return (validationResult & errorFlag) != 0;
+    }
+
+    /**
+     * Highest loan amount the offers may show for a property value: 80% of it, at most the cap.
+     * The page may offer less when the income limits the loan.
+     * @return the amount in HUF
+     */
+    public static long maxLoanAmount(long propertyValue) {
+        return Math.min((long) Math.floor(propertyValue * LOAN_TO_VALUE), MAX_LOAN_AMOUNT);
+    }
+
+    /**
+     * @return the highest loan amount the offers may show, or NOT_AVAILABLE if the input is invalid
+     */
+    public static long maxLoanAmount(LoanScenario scenario) {
+        if (validate(scenario) != VALID) return NOT_AVAILABLE;
+        return maxLoanAmount(scenario.propertyValue());
+    }
+
+    public static double repaymentLimitRatio(long existingLoanRepayment) {
+        return existingLoanRepayment >= REPAYMENT_THRESHOLD ? REPAYMENT_LIMIT_FROM_THRESHOLD : REPAYMENT_LIMIT_BELOW_THRESHOLD;
+    }
+}
@@ -0,0 +1,46 @@
+package hu.robertszujo.seleniumproject.scenario;
+
+/**
+ * One complete set of inputs for the loan calculator form
+ * @param age Customer age
+ * @param propertyValue Property value in HUF
+ * @param singleEarner true for "Egyedül keresek", false for "Legalább ketten keresünk"
+ * @param monthlyIncome Monthly income in HUF
+ * @param existingLoanRepayment Monthly repayment of existing loans in HUF
+ * @param bankAccountCredit Bank account credit discount option
+ * @param babyLoan Baby loan option
+ * @param insurance Repayment protection insurance option
+ */
+public record LoanScenario(int age,
+                           int propertyValue,
+                           boolean singleEarner,
+                           int monthlyIncome,
+                           int existingLoanRepayment,
+                           boolean bankAccountCredit,
+                           boolean babyLoan,
+                           boolean insurance) {
+
+    public LoanScenario withAge(int age) {
+        return new LoanScenario(age, propertyValue, singleEarner, monthlyIncome, existingLoanRepayment, bankAccountCredit, babyLoan, insurance);
+    }
+
+    public LoanScenario withPropertyValue(int propertyValue) {
+        return new LoanScenario(age, propertyValue, singleEarner, monthlyIncome, existingLoanRepayment, bankAccountCredit, babyLoan, insurance);
+    }
+
+    public LoanScenario withSingleEarner(boolean singleEarner) {
+        return new LoanScenario(age, propertyValue, singleEarner, monthlyIncome, existingLoanRepayment, bankAccountCredit, babyLoan, insurance);
+    }
+
+    public LoanScenario withMonthlyIncome(int monthlyIncome) {
+        return new LoanScenario(age, propertyValue, singleEarner, monthlyIncome, existingLoanRepayment, bankAccountCredit, babyLoan, insurance);
+    }
+
+    public LoanScenario withExistingLoanRepayment(int existingLoanRepayment) {
+        return new LoanScenario(age, propertyValue, singleEarner, monthlyIncome, existingLoanRepayment, bankAccountCredit, babyLoan, insurance);
+    }
+
+    public LoanScenario withInsurance(boolean insurance) {
+        return new LoanScenario(age, propertyValue, singleEarner, monthlyIncome, existingLoanRepayment, bankAccountCredit, babyLoan, insurance);
+    }
+}
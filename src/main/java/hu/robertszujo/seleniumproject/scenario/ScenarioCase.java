@@ -0,0 +1,77 @@
+package hu.robertszujo.seleniumproject.scenario;
+
+import hu.robertszujo.seleniumproject.pages.CalculatorSnapshot;
+import hu.robertszujo.seleniumproject.pages.CalculatorSnapshot.FormError;
+import hu.robertszujo.seleniumproject.pages.CalculatorSnapshot.Offer;
+import hu.robertszujo.seleniumproject.utils.NumberParsing;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * One data-driven scenario: calculator inputs plus the expected outcome
+ * @param name Unique name of the scenario, shown in the report
+ * @param input Values of all form fields
+ * @param expectedErrors Field errors the page must show; empty if the input is valid
+ * @param minLoanAmount Lowest acceptable maximum loan amount of the first offer, 0 if any offer up to the maximum will do
+ * @param maxLoanAmount Highest acceptable maximum loan amount of the first offer, 0 if no offer may be shown
+ * @param roundTripBudget Maximum number of WebDriver round trips of the scenario, 0 for no budget
+ */
+public record ScenarioCase(String name,
+                           LoanScenario input,
+                           Set<FormError> expectedErrors,
+                           long minLoanAmount,
+                           long maxLoanAmount,
+                           int roundTripBudget) {
+
+    public ScenarioCase {
+        expectedErrors = Set.copyOf(expectedErrors);
+    }
+
+    public boolean expectsOffer() {
+        return expectedErrors.isEmpty() && maxLoanAmount > 0;
+    }
+
+    /**
+     * @return Inputs and expectations of the scenario without its name, so renaming a scenario keeps its cached result
+     */
+    public String cacheKey() {
+        return input + " expecting " + new TreeSet<>(expectedErrors) + " " + minLoanAmount + "-" + maxLoanAmount;
+    }
+
+    /**
+     * Compares the observed page state with the expectations of this scenario
+     * @return a description of every mismatch, empty if the scenario passed
+     */
+    public List<String> findMismatches(CalculatorSnapshot snapshot) {
+        List<String> mismatches = new ArrayList<>();
+
+        Set<FormError> displayedErrors = EnumSet.noneOf(FormError.class);
+        for (FormError error : FormError.values()) {
+            if (snapshot.isErrorDisplayed(error)) displayedErrors.add(error);
+        }
+        if (!displayedErrors.equals(expectedErrors)) {
+            mismatches.add("Expected errors " + expectedErrors + " but page shows " + displayedErrors);
+        }
+
+        Optional<Offer> firstOffer = snapshot.getFirstOffer();
+        if (expectsOffer()) {
+            if (firstOffer.isEmpty()) {
+                mismatches.add("Expected an offer between " + minLoanAmount + " and " + maxLoanAmount + " but no offer is displayed");
+            } else {
+                int loanAmount = NumberParsing.parseAmount(firstOffer.get().maxLoanAmount());
+                if (loanAmount < minLoanAmount || loanAmount > maxLoanAmount) {
+                    mismatches.add("Expected loan amount between " + minLoanAmount + " and " + maxLoanAmount + " but got " + loanAmount);
+                }
+            }
+        } else if (firstOffer.isPresent()) {
+            mismatches.add("Expected no offer but got " + firstOffer.get().maxLoanAmount());
+        }
+
+        return mismatches;
+    }
+}
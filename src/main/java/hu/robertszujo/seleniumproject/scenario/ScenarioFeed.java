@@ -0,0 +1,88 @@
+package hu.robertszujo.seleniumproject.scenario;
+
+import hu.robertszujo.seleniumproject.scheduling.Shard;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Feeds scenarios to a TestNG data provider through a bounded work queue.
+ * A background thread streams the scenario files into the queue and blocks while the queue is full,
+ * so only a window of scenarios is held in memory no matter how large the files are.
+ * <p>
+ * In a sharded run every shard reads the same files and only keeps every n-th scenario.
+ */
+public class ScenarioFeed implements Iterator<Object[]> {
+
+    // Marks the end of the feed, compared by identity
+    private static final Object END_OF_FEED = new Object();
+
+    private final BlockingQueue<Object> queue;
+    private Object next;
+
+    public ScenarioFeed(List<String> scenarioFiles, int capacity) {
+        this(scenarioFiles, capacity, Shard.NONE);
+    }
+
+    /**
+     * @param shard Only the scenarios of this shard are fed, in round robin order of the files
+     */
+    public ScenarioFeed(List<String> scenarioFiles, int capacity, Shard shard) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        Thread producer = new Thread(() -> produce(scenarioFiles, shard), "scenario-feed");
+        producer.setDaemon(true);
+        producer.start();
+    }
+
+    @Override
+    public synchronized boolean hasNext() {
+        if (next == null) next = take();
+        if (next instanceof RuntimeException e) throw e;
+        return next != END_OF_FEED;
+    }
+
+    @Override
+    public synchronized Object[] next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        ScenarioCase scenario = (ScenarioCase) next;
+        next = null;
+        return new Object[]{scenario};
+    }
+
+    private void produce(List<String> scenarioFiles, Shard shard) {
+        ScenarioFileReader reader = new ScenarioFileReader();
+        long[] ordinal = {0};
+        try {
+            for (String file : scenarioFiles) {
+                reader.read(file.trim(), scenario -> {
+                    if (shard.contains(ordinal[0]++)) put(scenario);
+                });
+            }
+            put(END_OF_FEED);
+        } catch (Exception e) {
+            // Surfaced on the consuming side by hasNext()
+            put(new IllegalStateException("Could not read scenario files " + scenarioFiles, e));
+        }
+    }
+
+    private void put(Object item) {
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Scenario feed was interrupted", e);
+        }
+    }
+
+    private Object take() {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the next scenario", e);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package hu.robertszujo.seleniumproject.scenario;
+
+import hu.robertszujo.seleniumproject.pages.CalculatorSnapshot.FormError;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Streams scenarios from CSV or JSON files one by one, without loading the whole file.
+ * <p>
+ * CSV files need a header row with the column names below, lines starting with # are comments.
+ * JSON files hold an array of objects with the same keys. Expected errors are {@link FormError} names,
+ * separated by ';' in CSV and given as an array in JSON. The {@code roundTripBudget} column or key is optional.
+ */
+public class ScenarioFileReader {
+
+    private static final List<String> COLUMNS = List.of("name", "age", "propertyValue", "singleEarner", "monthlyIncome",
+            "existingLoanRepayment", "bankAccountCredit", "babyLoan", "insurance", "expectedErrors", "minLoanAmount", "maxLoanAmount");
+
+    private final Json json = new Json();
+
+    /**
+     * Reads every scenario of the file and hands them to the consumer in file order
+     * @param location Classpath resource or file path, the extension decides the format
+     */
+    public void read(String location, Consumer<ScenarioCase> consumer) throws IOException {
+        try (Reader reader = open(location)) {
+            if (location.endsWith(".json")) {
+                readJson(reader, consumer);
+            } else if (location.endsWith(".csv")) {
+                readCsv(location, new BufferedReader(reader), consumer);
+            } else {
+                throw new IllegalArgumentException("Unsupported scenario file format: " + location);
+            }
+        }
+    }
+
+    private Reader open(String location) throws IOException {
+        InputStream resource = ScenarioFileReader.class.getClassLoader().getResourceAsStream(location);
+        if (resource != null) return new InputStreamReader(resource, StandardCharsets.UTF_8);
+
+        Path file = Path.of(location);
+        if (!Files.exists(file)) throw new IOException("Scenario file not found on classpath or disk: " + location);
+        return Files.newBufferedReader(file, StandardCharsets.UTF_8);
+    }
+
+    private void readCsv(String location, BufferedReader reader, Consumer<ScenarioCase> consumer) throws IOException {
+        String header = reader.readLine();
+        if (header == null) return;
+        List<String> columns = Arrays.stream(header.split(",", -1)).map(String::trim).toList();
+        if (!columns.containsAll(COLUMNS)) {
+            throw new IllegalArgumentException(location + " must have the columns " + COLUMNS + " but has " + columns);
+        }
+
+        String line;
+        int lineNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#")) continue;
+
+            String[] values = line.split(",", -1);
+            if (values.length != columns.size()) {
+                throw new IllegalArgumentException(location + ":" + lineNumber + " has " + values.length + " values instead of " + columns.size());
+            }
+            Map<String, String> row = new HashMap<>();
+            for (int i = 0; i < values.length; i++) {
+                row.put(columns.get(i), values[i].trim());
+            }
+            Set<FormError> errors = EnumSet.noneOf(FormError.class);
+            for (String error : row.get("expectedErrors").split(";")) {
+                if (!error.isBlank()) errors.add(FormError.valueOf(error.trim()));
+            }
+            consumer.accept(toScenario(row, errors));
+        }
+    }
+
+    private void readJson(Reader reader, Consumer<ScenarioCase> consumer) {
+        try (JsonInput input = json.newInput(reader)) {
+            input.beginArray();
+            while (input.hasNext()) {
+                Map<String, Object> object = input.read(Json.MAP_TYPE);
+                Map<String, String> row = new HashMap<>();
+                object.forEach((key, value) -> row.put(key, String.valueOf(value)));
+                Set<FormError> errors = EnumSet.noneOf(FormError.class);
+                Object expectedErrors = object.get("expectedErrors");
+                if (expectedErrors instanceof List<?> list) {
+                    list.forEach(error -> errors.add(FormError.valueOf(String.valueOf(error))));
+                }
+                consumer.accept(toScenario(row, errors));
+            }
+            input.endArray();
+        }
+    }
+
+    private ScenarioCase toScenario(Map<String, String> row, Set<FormError> errors) {
+        LoanScenario input = new LoanScenario(
+                Integer.parseInt(row.get("age")),
+                Integer.parseInt(row.get("propertyValue")),
+                Boolean.parseBoolean(row.get("singleEarner")),
+                Integer.parseInt(row.get("monthlyIncome")),
+                Integer.parseInt(row.get("existingLoanRepayment")),
+                Boolean.parseBoolean(row.get("bankAccountCredit")),
+                Boolean.parseBoolean(row.get("babyLoan")),
+                Boolean.parseBoolean(row.get("insurance")));
+        return new ScenarioCase(row.get("name"), input, errors,
+                Long.parseLong(row.getOrDefault("minLoanAmount", "0")),
+                Long.parseLong(row.getOrDefault("maxLoanAmount", "0")),
+                Integer.parseInt(row.getOrDefault("roundTripBudget", "0")));
+    }
+}
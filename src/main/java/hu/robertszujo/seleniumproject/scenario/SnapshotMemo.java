@@ -0,0 +1,60 @@
+package hu.robertszujo.seleniumproject.scenario;
+
+import hu.robertszujo.seleniumproject.pages.CalculatorSnapshot;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Calculator results of the current run, shared by every test: a scenario is calculated in the browser
+ * only once per run, however many tests need its result.
+ * <p>
+ * Tests asking for a scenario that another thread is calculating wait for that calculation instead of starting
+ * their own. A failed calculation is not kept, the waiting tests then try it again with their own session.
+ */
+public class SnapshotMemo {
+
+    private final ConcurrentMap<LoanScenario, CompletableFuture<CalculatorSnapshot>> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * @param calculation Calculates the scenario with the session of the current thread, only called on a miss
+     * @return The snapshot of the scenario, calculated by this or by an other thread
+     */
+    public Result get(LoanScenario scenario, Function<LoanScenario, CalculatorSnapshot> calculation) {
+        while (true) {
+            CompletableFuture<CalculatorSnapshot> calculating = new CompletableFuture<>();
+            CompletableFuture<CalculatorSnapshot> existing = snapshots.putIfAbsent(scenario, calculating);
+            if (existing == null) {
+                return new Result(calculate(scenario, calculation, calculating), false);
+            }
+            try {
+                return new Result(existing.join(), true);
+            } catch (CompletionException e) {
+                // The other thread failed and removed its entry, the next round calculates it here
+            }
+        }
+    }
+
+    private CalculatorSnapshot calculate(LoanScenario scenario, Function<LoanScenario, CalculatorSnapshot> calculation,
+                                         CompletableFuture<CalculatorSnapshot> calculating) {
+        try {
+            CalculatorSnapshot snapshot = calculation.apply(scenario);
+            calculating.complete(snapshot);
+            return snapshot;
+        } catch (RuntimeException | Error e) {
+            snapshots.remove(scenario, calculating);
+            calculating.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * @param snapshot Page state after calculating the scenario
+     * @param memoized true if the snapshot was calculated by an earlier or concurrent request
+     */
+    public record Result(CalculatorSnapshot snapshot, boolean memoized) {
+    }
+}
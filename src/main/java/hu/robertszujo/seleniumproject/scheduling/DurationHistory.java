@@ -0,0 +1,84 @@
+package hu.robertszujo.seleniumproject.scheduling;
+
+import hu.robertszujo.seleniumproject.utils.JsonFiles;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+
+/**
+ * Runtime of every test method across runs, kept in a small JSON file: {@code {"class.method": millis, ...}}.
+ * Each run is blended into the recorded value with exponential smoothing, so one slow run does not reorder the suite.
+ * <p>
+ * A data-driven method is one unit for the scheduler, it is recorded with the wall clock time of all its invocations:
+ * their total, divided by the data provider threads they shared if the data provider is parallel.
+ * Several JVMs, e.g. the shards of one run, may save into the same file: each one only merges its own tests
+ * into the file as it is at that moment.
+ */
+public class DurationHistory {
+
+    private final Path file;
+    private final double smoothing;
+    private final Map<String, Long> durations;
+    // Tests of the current run, merged into the file on save
+    private final Map<String, Long> runDurations = new HashMap<>();
+
+    private DurationHistory(Path file, double smoothing, Map<String, Long> durations) {
+        this.file = file;
+        this.smoothing = smoothing;
+        this.durations = durations;
+    }
+
+    /**
+     * @param smoothing Weight of a new run, between 0 (exclusive) and 1 (only the latest run counts)
+     * @return The recorded durations, empty if the file does not exist or cannot be read
+     */
+    public static DurationHistory load(Path file, double smoothing) {
+        if (smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("Duration smoothing must be in (0, 1], got: " + smoothing);
+        }
+        Map<String, Long> durations = new TreeMap<>();
+        JsonFiles.read(file).forEach((test, millis) -> {
+            if (millis instanceof Number number) durations.put(test, number.longValue());
+        });
+        return new DurationHistory(file, smoothing, durations);
+    }
+
+    /**
+     * @param test Qualified method name, e.g. {@code hu.robertszujo.seleniumproject.LoanCalculatorTests.ageBoundaryTest}
+     */
+    public synchronized OptionalLong getMillis(String test) {
+        Long millis = durations.get(test);
+        return millis == null ? OptionalLong.empty() : OptionalLong.of(millis);
+    }
+
+    /**
+     * @return Recorded duration of every test, by qualified method name
+     */
+    public synchronized Map<String, Long> getAll() {
+        return Map.copyOf(durations);
+    }
+
+    /**
+     * Blends the duration of the current run into the recorded one
+     */
+    public synchronized void record(String test, long millis) {
+        runDurations.put(test, millis);
+        durations.merge(test, millis, this::blend);
+    }
+
+    /**
+     * Merges the tests recorded in this run into the file, as other JVMs may have saved theirs since it was loaded
+     */
+    public synchronized void save() throws IOException {
+        JsonFiles.update(file, content -> runDurations.forEach((test, millis) -> content.put(test,
+                content.get(test) instanceof Number recorded ? blend(recorded.longValue(), millis) : millis)));
+    }
+
+    private long blend(long recorded, long latest) {
+        return Math.round(smoothing * latest + (1 - smoothing) * recorded);
+    }
+}
@@ -0,0 +1,44 @@
+package hu.robertszujo.seleniumproject.scheduling;
+
+/**
+ * One of the JVMs a sharded suite is split into
+ * @param number 1-based number of this shard
+ * @param count Number of shards, 1 if the suite is not sharded
+ */
+public record Shard(int number, int count) {
+
+    public static final Shard NONE = new Shard(1, 1);
+
+    public Shard {
+        if (count < 1 || number < 1 || number > count) {
+            throw new IllegalArgumentException("Shard number must be between 1 and the shard count, got shard " + number + " of " + count);
+        }
+    }
+
+    public boolean isSharded() {
+        return count > 1;
+    }
+
+    /**
+     * Round robin split of an ordered list, e.g. of the scenarios of a data-driven test
+     * @param ordinal 0-based position in the list
+     */
+    public boolean contains(long ordinal) {
+        return ordinal % count == number - 1;
+    }
+
+    /**
+     * @return e.g. {@code Report_x_shard-2-of-4.jsonl} for {@code Report_x.jsonl}, the file name itself if not sharded
+     */
+    public String qualify(String fileName) {
+        if (!isSharded()) return fileName;
+        int extension = fileName.lastIndexOf('.');
+        String suffix = "_shard-" + number + "-of-" + count;
+        return extension < 0 ? fileName + suffix : fileName.substring(0, extension) + suffix + fileName.substring(extension);
+    }
+
+    @Override
+    public String toString() {
+        return "shard " + number + " of " + count;
+    }
+}
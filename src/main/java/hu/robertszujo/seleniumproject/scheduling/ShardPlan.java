@@ -0,0 +1,63 @@
+package hu.robertszujo.seleniumproject.scheduling;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Splits test methods into shards of about equal total duration, longest-processing-time-first:
+ * the longest remaining method always goes to the shard with the least work so far.
+ * <p>
+ * Every shard computes the plan on its own, so it has to get the same method list and the same durations,
+ * see {@code ShardConstants.SHARD_PLAN_FILE}, and the result has to be deterministic:
+ * ties are broken by method name and by lowest shard number.
+ */
+public final class ShardPlan {
+
+    private ShardPlan() {
+    }
+
+    /**
+     * @param methods Qualified names of every method of the suite
+     * @param durations Recorded durations by qualified method name; unknown methods count as average length
+     * @return The methods the given shard has to run
+     */
+    public static Set<String> methodsOf(Shard shard, Collection<String> methods, Map<String, Long> durations) {
+        if (!shard.isSharded()) return new HashSet<>(methods);
+
+        long averageMillis = Math.round(durations.values().stream().mapToLong(Long::longValue).average().orElse(1));
+        List<String> longestFirst = new ArrayList<>(new TreeSet<>(methods));
+        longestFirst.sort(Comparator.comparingLong((String method) -> durations.getOrDefault(method, averageMillis)).reversed());
+
+        long[] loads = new long[shard.count()];
+        Set<String> assigned = new HashSet<>();
+        for (String method : longestFirst) {
+            int leastLoaded = 0;
+            for (int i = 1; i < loads.length; i++) {
+                if (loads[i] < loads[leastLoaded]) leastLoaded = i;
+            }
+            // Methods without any recorded time still spread evenly
+            loads[leastLoaded] += Math.max(1, durations.getOrDefault(method, averageMillis));
+            if (leastLoaded == shard.number() - 1) assigned.add(method);
+        }
+        return assigned;
+    }
+
+    /**
+     * Split without durations, by the hash of the method name: the same in every JVM, but not balanced by duration
+     * @return The methods the given shard has to run
+     */
+    public static Set<String> methodsByName(Shard shard, Collection<String> methods) {
+        Set<String> assigned = new HashSet<>();
+        for (String method : methods) {
+            // String.hashCode is specified, it does not change between JVMs
+            if (shard.contains(Integer.toUnsignedLong(method.hashCode()))) assigned.add(method);
+        }
+        return assigned;
+    }
+}
@@ -0,0 +1,11 @@
+package hu.robertszujo.seleniumproject.server;
+
+public enum CalculatorTarget {
+
+    // The public erstelakashitel.hu site (or the URL given in -Dcalculator.url)
+    LIVE,
+
+    // The synthetic stand-in served by LocalCalculatorServer: same element ids and form behaviour,
+    // but a hand-written loan calculation that is not taken from the real site
+    LOCAL
+}
@@ -0,0 +1,118 @@
+package hu.robertszujo.seleniumproject.sweep;
+
+import hu.robertszujo.seleniumproject.rules.LoanRules;
+import hu.robertszujo.seleniumproject.scenario.LoanScenario;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Evaluates input tuples with the validation and calculation functions the calculator page uses for its own form,
+ * without touching the form: one script execution checks a whole chunk of tuples.
+ * The UI only has to confirm a sample of the results, see {@link SweepResult#toScenarioCase(String)}.
+ * <p>
+ * The functions are found by an accessor, a JavaScript expression evaluated in the page. It has to give an object with
+ * {@code validate(input)}, returning a non-empty message per invalid field ({@code age}, {@code propertyValue},
+ * {@code monthlyIncome}, {@code existingLoanRepayment}), and {@code calculate(input)}, returning
+ * {@code {available, maxLoanAmount}}. For a page with other functions the accessor adapts them to this shape.
+ */
+public class InBrowserSweep {
+
+    // The accessor is evaluated in the page's global scope
+    private static final String API_LOOKUP = "var api = (new Function('return (' + arguments[0] + ');'))();";
+
+    private static final String DETECT_SCRIPT = """
+            try {
+                %s
+                return !!api && typeof api.validate === 'function' && typeof api.calculate === 'function';
+            } catch (e) {
+                return false;
+            }
+            """.formatted(API_LOOKUP);
+
+    // Tuples are sent and returned as arrays, so a chunk of thousands stays a small payload
+    private static final String EVALUATE_SCRIPT = """
+            %s
+            var errorFlags = arguments[1];
+            return arguments[2].map(function (tuple) {
+                var input = {
+                    age: tuple[0], propertyValue: tuple[1], singleEarner: tuple[2], monthlyIncome: tuple[3],
+                    existingLoanRepayment: tuple[4], bankAccountCredit: tuple[5], babyLoan: tuple[6], insurance: tuple[7]
+                };
+                var errors = api.validate(input);
+                var validation = Object.keys(errorFlags).reduce(function (flags, field) {
+                    return errors[field] ? flags | errorFlags[field] : flags;
+                }, 0);
+                if (validation !== 0) return [validation, 0];
+                var result = api.calculate(input);
+                return [0, result.available ? result.maxLoanAmount : 0];
+            });
+            """.formatted(API_LOOKUP);
+
+    // Field names of the page's validation result, with the LoanRules flag of each
+    private static final Map<String, Integer> ERROR_FLAGS = errorFlags();
+
+    private final WebDriver driver;
+    private final String accessor;
+
+    /**
+     * @param driver Session with the calculator page open
+     * @param accessor JavaScript expression giving the page's {@code validate} and {@code calculate} functions
+     */
+    public InBrowserSweep(WebDriver driver, String accessor) {
+        this.driver = driver;
+        this.accessor = accessor;
+    }
+
+    /**
+     * @return true if the accessor gives the calculation functions on the open page
+     */
+    public boolean isAvailable() {
+        return Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(DETECT_SCRIPT, accessor));
+    }
+
+    /**
+     * Evaluates the inputs in chunks, each chunk in a single script execution
+     * @param chunkSize Tuples per script execution
+     * @param chunkConsumer Receives the results of every chunk as soon as it is back, in input order
+     */
+    public void evaluate(List<LoanScenario> inputs, int chunkSize, Consumer<List<SweepResult>> chunkConsumer) {
+        for (int from = 0; from < inputs.size(); from += chunkSize) {
+            List<LoanScenario> chunk = inputs.subList(from, Math.min(from + chunkSize, inputs.size()));
+            chunkConsumer.accept(evaluateChunk(chunk));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<SweepResult> evaluateChunk(List<LoanScenario> chunk) {
+        List<List<Object>> tuples = new ArrayList<>(chunk.size());
+        for (LoanScenario input : chunk) {
+            tuples.add(List.of(input.age(), input.propertyValue(), input.singleEarner(), input.monthlyIncome(),
+                    input.existingLoanRepayment(), input.bankAccountCredit(), input.babyLoan(), input.insurance()));
+        }
+
+        List<List<Number>> outcomes = (List<List<Number>>) ((JavascriptExecutor) driver)
+                .executeScript(EVALUATE_SCRIPT, accessor, ERROR_FLAGS, tuples);
+
+        List<SweepResult> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            List<Number> outcome = outcomes.get(i);
+            results.add(new SweepResult(chunk.get(i), outcome.get(0).intValue(), outcome.get(1).longValue()));
+        }
+        return results;
+    }
+
+    private static Map<String, Integer> errorFlags() {
+        Map<String, Integer> flags = new LinkedHashMap<>();
+        flags.put("age", LoanRules.AGE_ERROR);
+        flags.put("propertyValue", LoanRules.PROPERTY_VALUE_ERROR);
+        flags.put("monthlyIncome", LoanRules.MONTHLY_INCOME_ERROR);
+        flags.put("existingLoanRepayment", LoanRules.EXISTING_LOAN_REPAYMENT_ERROR);
+        return flags;
+    }
+}
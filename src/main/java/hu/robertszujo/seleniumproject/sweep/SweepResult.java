@@ -0,0 +1,46 @@
+package hu.robertszujo.seleniumproject.sweep;
+
+import hu.robertszujo.seleniumproject.pages.CalculatorSnapshot.FormError;
+import hu.robertszujo.seleniumproject.rules.LoanRules;
+import hu.robertszujo.seleniumproject.scenario.LoanScenario;
+import hu.robertszujo.seleniumproject.scenario.ScenarioCase;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Outcome of one input tuple, as calculated by the page's own scripts
+ * @param input Values of all form fields
+ * @param validation VALID or the {@link LoanRules} error flags of the fields the page marks as invalid
+ * @param maxLoanAmount Maximum loan amount of the offers, {@link LoanRules#NOT_AVAILABLE} if the page shows none
+ */
+public record SweepResult(LoanScenario input, int validation, long maxLoanAmount) {
+
+    private static final Map<Integer, FormError> ERRORS_BY_FLAG = Map.of(
+            LoanRules.AGE_ERROR, FormError.AGE,
+            LoanRules.PROPERTY_VALUE_ERROR, FormError.PROPERTY_VALUE,
+            LoanRules.MONTHLY_INCOME_ERROR, FormError.MONTHLY_INCOME,
+            LoanRules.EXISTING_LOAN_REPAYMENT_ERROR, FormError.EXISTING_LOAN_REPAYMENT);
+
+    /**
+     * @return true if the reference model expects the same validation and allows the loan amount,
+     * and the page gives an offer wherever the model allows one, so a page that never offers a loan does not match
+     */
+    public boolean matchesLoanRules() {
+        long bound = LoanRules.maxLoanAmount(input);
+        if (validation != LoanRules.validate(input) || maxLoanAmount > bound) return false;
+        return bound == LoanRules.NOT_AVAILABLE || maxLoanAmount > LoanRules.NOT_AVAILABLE;
+    }
+
+    /**
+     * @return This outcome as the expectation of a scenario, so the UI can confirm it
+     */
+    public ScenarioCase toScenarioCase(String name) {
+        Set<FormError> errors = EnumSet.noneOf(FormError.class);
+        ERRORS_BY_FLAG.forEach((flag, error) -> {
+            if (LoanRules.hasError(validation, flag)) errors.add(error);
+        });
+        return new ScenarioCase(name, input, errors, maxLoanAmount, maxLoanAmount, 0);
+    }
+}
@@ -0,0 +1,113 @@
+package hu.robertszujo.seleniumproject.utils;
+
+import hu.robertszujo.seleniumproject.constants.ElementConstants;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Wait with adaptive polling: the condition is checked right away, then again after a short interval
+ * that grows exponentially up to a cap. A condition that is already true costs a single check,
+ * one that becomes true shortly after is noticed within milliseconds instead of a fixed 500 ms poll.
+ * <p>
+ * Immutable and bound to no driver, so one instance per call site is shared by every test thread
+ * instead of building a new {@code WebDriverWait} on every call.
+ * @param timeout Maximum time to wait
+ * @param initialPollInterval Pause after the first failed check
+ * @param maxPollInterval The pause never grows beyond this
+ * @param backoffFactor The pause is multiplied by this after every failed check
+ * @param ignoredExceptions Exceptions thrown by the condition that count as "not yet", anything else ends the wait
+ */
+public record AdaptiveWait(Duration timeout,
+                           Duration initialPollInterval,
+                           Duration maxPollInterval,
+                           double backoffFactor,
+                           Set<Class<? extends RuntimeException>> ignoredExceptions) {
+
+    /**
+     * Settings of {@link ElementConstants}, ignoring missing and stale elements like {@code WebDriverWait} does
+     */
+    public static final AdaptiveWait DEFAULT = new AdaptiveWait(ElementConstants.MAX_WAIT_DURATION,
+            ElementConstants.WAIT_INITIAL_POLL_INTERVAL, ElementConstants.WAIT_MAX_POLL_INTERVAL,
+            ElementConstants.WAIT_POLL_BACKOFF_FACTOR, Set.of(NotFoundException.class, StaleElementReferenceException.class));
+
+    public AdaptiveWait {
+        if (backoffFactor < 1) throw new IllegalArgumentException("Backoff factor must be at least 1, got: " + backoffFactor);
+        ignoredExceptions = Set.copyOf(ignoredExceptions);
+    }
+
+    public AdaptiveWait withTimeout(Duration timeout) {
+        return new AdaptiveWait(timeout, initialPollInterval, maxPollInterval, backoffFactor, ignoredExceptions);
+    }
+
+    /**
+     * @param backoffFactor 1 polls at a fixed interval
+     */
+    public AdaptiveWait withPolling(Duration initialPollInterval, Duration maxPollInterval, double backoffFactor) {
+        return new AdaptiveWait(timeout, initialPollInterval, maxPollInterval, backoffFactor, ignoredExceptions);
+    }
+
+    public AdaptiveWait withIgnoredExceptions(Set<Class<? extends RuntimeException>> ignoredExceptions) {
+        return new AdaptiveWait(timeout, initialPollInterval, maxPollInterval, backoffFactor, ignoredExceptions);
+    }
+
+    /**
+     * Checks the condition until it returns something other than null or false
+     * @param condition e.g. {@code ExpectedConditions.visibilityOf(element)}
+     * @return The last value of the condition
+     * @throws TimeoutException if the condition did not become true within the timeout
+     */
+    public <T> T until(WebDriver driver, Function<? super WebDriver, T> condition) {
+        return until(driver, condition, System::nanoTime, AdaptiveWait::sleep);
+    }
+
+    // The clock and the sleep are replaced by a fake clock in the unit tests
+    <T> T until(WebDriver driver, Function<? super WebDriver, T> condition, LongSupplier nanoClock, LongConsumer sleeper) {
+        long start = nanoClock.getAsLong();
+        long deadline = start + timeout.toNanos();
+        long pollNanos = initialPollInterval.toNanos();
+        int checks = 0;
+        RuntimeException lastIgnored = null;
+
+        while (true) {
+            checks++;
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) return value;
+                lastIgnored = null;
+            } catch (RuntimeException e) {
+                if (!isIgnored(e)) throw e;
+                lastIgnored = e;
+            }
+
+            long remainingNanos = deadline - nanoClock.getAsLong();
+            if (remainingNanos <= 0) {
+                throw new TimeoutException("Expected condition failed: waiting for " + condition + " (tried for "
+                        + Duration.ofNanos(nanoClock.getAsLong() - start).toMillis() + " ms, " + checks + " checks)", lastIgnored);
+            }
+            sleeper.accept(Math.min(pollNanos, remainingNanos));
+            pollNanos = Math.min((long) (pollNanos * backoffFactor), maxPollInterval.toNanos());
+        }
+    }
+
+    private boolean isIgnored(RuntimeException e) {
+        return ignoredExceptions.stream().anyMatch(ignored -> ignored.isInstance(e));
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while waiting", e);
+        }
+    }
+}
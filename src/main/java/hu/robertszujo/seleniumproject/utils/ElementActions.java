@@ -1,21 +1,99 @@
 package hu.robertszujo.seleniumproject.utils;
 
-import hu.robertszujo.seleniumproject.constants.ElementConstants;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 public class ElementActions {
 
+    // Resolves with the name of the first outcome that has a displayed element, or null at the timeout
+    private static final String FIRST_DISPLAYED_SCRIPT = """
+            var outcomes = arguments[0], timeoutMs = arguments[1];
+            var done = arguments[arguments.length - 1];
+            var isVisible = %s;
+            var isDisplayed = function (el) { return isVisible(el) && (el.innerText || el.textContent || '').trim() !== ''; };
+            var firstDisplayed = function () {
+                for (var i = 0; i < outcomes.length; i++) {
+                    var elements = document.querySelectorAll(outcomes[i].selector);
+                    for (var j = 0; j < elements.length; j++) {
+                        if (isDisplayed(elements[j])) return outcomes[i].name;
+                    }
+                }
+                return null;
+            };
+            var immediate = firstDisplayed();
+            if (immediate !== null) {
+                done(immediate);
+                return;
+            }
+            var finished = false, observer = null, poller = null, timeoutTimer = null;
+            var finish = function (outcome) {
+                if (finished) return;
+                finished = true;
+                observer.disconnect();
+                clearInterval(poller);
+                clearTimeout(timeoutTimer);
+                done(outcome);
+            };
+            var check = function () {
+                var outcome = firstDisplayed();
+                if (outcome !== null) finish(outcome);
+            };
+            observer = new MutationObserver(check);
+            observer.observe(document.documentElement, { subtree: true, childList: true, attributes: true, characterData: true });
+            // Style changes without a DOM mutation, e.g. a finished transition, are caught by polling
+            poller = setInterval(check, 50);
+            timeoutTimer = setTimeout(function () { finish(null); }, timeoutMs);
+            """.formatted(PageScripts.IS_VISIBLE_FUNCTION);
+
     public static void waitForElementToBeDisplayed(WebElement elementToBeDisplayed, WebDriver driver) {
-        new WebDriverWait(driver, ElementConstants.MAX_WAIT_DURATION)
-                .until(ExpectedConditions.visibilityOf(elementToBeDisplayed));
+        waitForElementToBeDisplayed(elementToBeDisplayed, driver, AdaptiveWait.DEFAULT);
+    }
+
+    /**
+     * @param wait Timeout, polling and ignored exceptions of this call site, e.g. {@code AdaptiveWait.DEFAULT.withTimeout(...)}
+     */
+    public static void waitForElementToBeDisplayed(WebElement elementToBeDisplayed, WebDriver driver, AdaptiveWait wait) {
+        wait.until(driver, ExpectedConditions.visibilityOf(elementToBeDisplayed));
     }
 
     public static void waitForElementToDisappear(WebElement elementToDisappear, WebDriver driver) {
-        new WebDriverWait(driver, ElementConstants.MAX_WAIT_DURATION)
-                .until(ExpectedConditions.invisibilityOf(elementToDisappear));
+        waitForElementToDisappear(elementToDisappear, driver, AdaptiveWait.DEFAULT);
+    }
+
+    /**
+     * @param wait Timeout, polling and ignored exceptions of this call site
+     */
+    public static void waitForElementToDisappear(WebElement elementToDisappear, WebDriver driver, AdaptiveWait wait) {
+        wait.until(driver, ExpectedConditions.invisibilityOf(elementToDisappear));
+    }
+
+    /**
+     * Waits for several possible outcomes at once, in a single script execution, and returns the first one that shows up.
+     * An outcome shows up when any element matching its selector is visible and has text.
+     * Negative outcomes resolve as fast as positive ones instead of waiting out the timeout of each other outcome.
+     * @param selectorsByOutcome CSS selector of every outcome; if several show up at once, the first in iteration order wins
+     * @param timeoutOutcome Returned if no outcome shows up within the timeout
+     */
+    public static <T extends Enum<T>> T waitForFirstDisplayed(WebDriver driver, Map<T, String> selectorsByOutcome,
+                                                              T timeoutOutcome, Duration timeout) {
+        List<Map<String, String>> outcomes = new ArrayList<>();
+        selectorsByOutcome.forEach((outcome, selector) -> outcomes.add(Map.of("name", outcome.name(), "selector", selector)));
+
+        Object firstDisplayed;
+        try {
+            firstDisplayed = ((JavascriptExecutor) driver).executeAsyncScript(FIRST_DISPLAYED_SCRIPT, outcomes, timeout.toMillis());
+        } catch (ScriptTimeoutException e) {
+            return timeoutOutcome;
+        }
+        return firstDisplayed == null ? timeoutOutcome : Enum.valueOf(timeoutOutcome.getDeclaringClass(), (String) firstDisplayed);
     }
 
 }
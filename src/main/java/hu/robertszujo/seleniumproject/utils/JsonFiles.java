@@ -0,0 +1,65 @@
+package hu.robertszujo.seleniumproject.utils;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Small JSON object files that several JVMs may update, e.g. the shards of one run
+ */
+public class JsonFiles {
+
+    private static final Json JSON = new Json();
+    // File locks are held by the whole JVM, threads of the same JVM are kept apart by this monitor
+    private static final Object JVM_LOCK = new Object();
+
+    /**
+     * @return The JSON object in the file, empty if the file does not exist or cannot be read
+     */
+    public static Map<String, Object> read(Path file) {
+        if (!Files.exists(file)) return new TreeMap<>();
+        try {
+            Map<String, Object> content = JSON.toType(Files.readString(file, StandardCharsets.UTF_8), Json.MAP_TYPE);
+            return new TreeMap<>(content);
+        } catch (IOException | RuntimeException e) {
+            // A broken file is rewritten by the next update
+            return new TreeMap<>();
+        }
+    }
+
+    /**
+     * Reads the file, applies the update and writes it back while holding a lock on a file next to it,
+     * so concurrent updates from other JVMs and threads are never lost. The file is replaced in one move,
+     * so a killed JVM never leaves a half-written file.
+     */
+    public static void update(Path file, Consumer<Map<String, Object>> update) throws IOException {
+        Path folder = file.toAbsolutePath().getParent();
+        Files.createDirectories(folder);
+        Path lockFile = folder.resolve(file.getFileName() + ".lock");
+        synchronized (JVM_LOCK) {
+            try (FileChannel lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = lockChannel.lock();
+                try {
+                    Map<String, Object> content = read(file);
+                    update.accept(content);
+
+                    Path temp = Files.createTempFile(folder, file.getFileName().toString(), ".tmp");
+                    Files.writeString(temp, JSON.toJson(content), StandardCharsets.UTF_8);
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    lock.release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package hu.robertszujo.seleniumproject.utils;
+
+public class NumberParsing {
+
+    /**
+     * Parses an amount as displayed on the page, e.g. "48 300 000 Ft"
+     * @return the amount, or 0 if the text contains no number
+     */
+    public static int parseAmount(String amountText) {
+        try {
+            String clean = amountText.replaceAll("[^0-9]", "");
+            return Integer.parseInt(clean);
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Parses a decimal number with a Hungarian decimal comma, e.g. "6,49"
+     * @return the number, or 0.0 if the text is not a number
+     */
+    public static double parseDecimal(String decimalText) {
+        try {
+            String clean = decimalText.trim().replace(",", ".");
+            return Double.parseDouble(clean);
+        } catch (Exception e) {
+            return 0.0;
+        }
+    }
+}
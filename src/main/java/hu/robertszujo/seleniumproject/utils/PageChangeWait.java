@@ -0,0 +1,147 @@
+package hu.robertszujo.seleniumproject.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Event-driven replacement for fixed sleeps. A MutationObserver is injected into the page before an action
+ * and the wait resolves as soon as the visibility or text of one of the watched elements changes.
+ * <p>
+ * Usage: {@code arm} before the action, then {@code awaitChange} or {@code awaitSettled} after it.
+ */
+public class PageChangeWait {
+
+    // Visibility and text of every watched element, joined into one comparable string
+    private static final String STATE_FUNCTION = """
+            function (ids) {
+                var isVisible = %s;
+                return ids.map(function (id) {
+                    var el = document.getElementById(id);
+                    if (!el) return id + '=absent';
+                    return id + '=' + (isVisible(el) ? 'visible' : 'hidden') + ':' + el.textContent.trim();
+                }).join(' | ');
+            }""".formatted(PageScripts.IS_VISIBLE_FUNCTION);
+
+    private static final String ARM_SCRIPT = """
+            var ids = arguments[0], token = arguments[1];
+            var state = (%s).bind(null, ids);
+            if (window.__pageChangeWait) window.__pageChangeWait.observer.disconnect();
+            var watch = { token: token, baseline: state(), state: state, changed: false,
+                          lastMutation: Date.now(), listeners: [] };
+            watch.observer = new MutationObserver(function () {
+                watch.lastMutation = Date.now();
+                if (!watch.changed && watch.state() !== watch.baseline) {
+                    watch.changed = true;
+                    watch.listeners.forEach(function (listener) { listener(); });
+                }
+            });
+            var everyElementPresent = ids.every(function (id) { return document.getElementById(id); });
+            if (everyElementPresent) {
+                ids.forEach(function (id) {
+                    var el = document.getElementById(id);
+                    watch.observer.observe(el, { subtree: true, childList: true, attributes: true, characterData: true });
+                    if (el.parentElement) watch.observer.observe(el.parentElement, { attributes: true });
+                });
+            } else {
+                // Missing elements may be inserted later anywhere in the page
+                watch.observer.observe(document.documentElement,
+                        { subtree: true, childList: true, attributes: true, characterData: true });
+            }
+            window.__pageChangeWait = watch;
+            """.formatted(STATE_FUNCTION);
+
+    private static final String AWAIT_SCRIPT = """
+            var token = arguments[0], timeoutMs = arguments[1], quietMs = arguments[2];
+            var done = arguments[arguments.length - 1];
+            var watch = window.__pageChangeWait;
+            if (!watch || watch.token !== token) {
+                // The page was replaced by the action itself
+                done({ status: 'navigated', baseline: '', current: '' });
+                return;
+            }
+            var finished = false, quietTimer = null, timeoutTimer = null;
+            var finish = function (status) {
+                if (finished) return;
+                finished = true;
+                clearInterval(quietTimer);
+                clearTimeout(timeoutTimer);
+                watch.observer.disconnect();
+                done({ status: status, baseline: watch.baseline, current: watch.state() });
+            };
+            if (watch.changed || watch.state() !== watch.baseline) {
+                finish('changed');
+                return;
+            }
+            watch.listeners.push(function () { finish('changed'); });
+            watch.lastMutation = Math.max(watch.lastMutation, Date.now());
+            if (quietMs > 0) {
+                quietTimer = setInterval(function () {
+                    if (Date.now() - watch.lastMutation >= quietMs) finish('settled');
+                }, Math.max(10, Math.floor(quietMs / 5)));
+            }
+            timeoutTimer = setTimeout(function () { finish('timeout'); }, timeoutMs);
+            """;
+
+    private final JavascriptExecutor js;
+    private final String[] elementIds;
+    private final String token;
+
+    private PageChangeWait(WebDriver driver, String[] elementIds, String token) {
+        this.js = (JavascriptExecutor) driver;
+        this.elementIds = elementIds;
+        this.token = token;
+    }
+
+    /**
+     * Starts watching the given elements. Must be called before the action that is expected to change them.
+     * @param elementIds ids of the elements whose visibility or text is watched
+     */
+    public static PageChangeWait arm(WebDriver driver, String... elementIds) {
+        PageChangeWait wait = new PageChangeWait(driver, elementIds, UUID.randomUUID().toString());
+        wait.js.executeScript(ARM_SCRIPT, Arrays.asList(elementIds), wait.token);
+        return wait;
+    }
+
+    /**
+     * Waits until at least one watched element changes its visibility or text
+     * @throws TimeoutException with the baseline and current state of the watched elements
+     */
+    public void awaitChange(Duration timeout) {
+        await(Duration.ZERO, timeout);
+    }
+
+    /**
+     * Waits until a watched element changes, or until the watched elements have been quiet for the given period.
+     * Used after input where "nothing changed" is a valid outcome, e.g. a field validation that stays green.
+     * @throws TimeoutException if the watched elements keep mutating for the whole timeout
+     */
+    public void awaitSettled(Duration quietPeriod, Duration timeout) {
+        await(quietPeriod, timeout);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void await(Duration quietPeriod, Duration timeout) {
+        Map<String, Object> result;
+        try {
+            result = (Map<String, Object>) js.executeAsyncScript(AWAIT_SCRIPT, token, timeout.toMillis(), quietPeriod.toMillis());
+        } catch (ScriptTimeoutException e) {
+            throw new TimeoutException(diagnostic(timeout, "unknown", "unknown"), e);
+        }
+
+        if ("timeout".equals(result.get("status"))) {
+            throw new TimeoutException(diagnostic(timeout, String.valueOf(result.get("baseline")), String.valueOf(result.get("current"))));
+        }
+    }
+
+    private String diagnostic(Duration timeout, String baseline, String current) {
+        return "Watched elements " + Arrays.toString(elementIds) + " did not change within " + timeout.toMillis() + " ms."
+                + " State before action: [" + baseline + "], state at timeout: [" + current + "]";
+    }
+}
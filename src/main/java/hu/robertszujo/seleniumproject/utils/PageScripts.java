@@ -0,0 +1,15 @@
+package hu.robertszujo.seleniumproject.utils;
+
+/**
+ * JavaScript snippets shared by the scripts that are executed in the page
+ */
+public class PageScripts {
+
+    // Same notion of visibility as WebElement.isDisplayed(): rendered with a size and not hidden
+    public static final String IS_VISIBLE_FUNCTION = """
+            function (el) {
+                return !!el && !!(el.offsetWidth || el.offsetHeight || el.getClientRects().length)
+                        && window.getComputedStyle(el).visibility !== 'hidden';
+            }""";
+
+}
@@ -1,28 +1,63 @@
 package hu.robertszujo.seleniumproject.utils;
 
-import org.apache.hc.client5.http.utils.Base64;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 
+import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.File;
 import java.io.IOException;
+import java.util.Base64;
 
 public class WebDriverUtils {
 
     public static String captureScreenshotAsBase64(WebDriver driver) throws IOException {
-        // Take a screenshot of the entire visible part of page/screen
-        File screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-        BufferedImage startImg = ImageIO.read(screenshot);
-        BufferedImage finalImg = new BufferedImage(startImg.getWidth(), startImg.getHeight(), BufferedImage.TYPE_INT_RGB);
-        finalImg.createGraphics().drawImage(startImg, 0, 0, Color.WHITE, null);
+        // Take a screenshot of the entire visible part of page/screen, straight into memory
+        byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        return Base64.getEncoder().encodeToString(toJpeg(screenshot, 75, 0));
+    }
+
+    /**
+     * Re-encodes an image (PNG or JPEG) as JPEG, dropping transparency
+     * @param quality JPEG quality, 1-100
+     * @param maxWidth Images wider than this are scaled down proportionally, 0 keeps the original size
+     */
+    public static byte[] toJpeg(byte[] image, int quality, int maxWidth) throws IOException {
+        BufferedImage startImg = ImageIO.read(new ByteArrayInputStream(image));
+        if (startImg == null) throw new IOException("Unsupported image format");
+
+        int width = startImg.getWidth();
+        int height = startImg.getHeight();
+        if (maxWidth > 0 && width > maxWidth) {
+            height = Math.max(1, height * maxWidth / width);
+            width = maxWidth;
+        }
+
+        BufferedImage finalImg = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = finalImg.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(startImg, 0, 0, width, height, Color.WHITE, null);
+        graphics.dispose();
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ImageIO.write(finalImg, "jpeg", baos);
-        return Base64.encodeBase64String(baos.toByteArray());
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(baos)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality / 100f);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(finalImg, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return baos.toByteArray();
     }
 
 }
@@ -0,0 +1,10 @@
+package hu.robertszujo.seleniumproject.webdriver;
+
+public enum BrowserProfile {
+
+    // Headed browser with the default page load strategy, loading everything the page asks for
+    STANDARD,
+
+    // Headless browser that stops waiting at DOMContentLoaded, skips images and blocks third-party trackers
+    LEAN
+}
@@ -0,0 +1,41 @@
+package hu.robertszujo.seleniumproject.webdriver;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Starts Chrome sessions for the {@link DriverPool} with the options of the given browser profile
+ */
+public class ChromeDriverFactory implements Supplier<WebDriver> {
+
+    private final BrowserProfile profile;
+    private final List<String> blockedUrlPatterns;
+
+    /**
+     * @param blockedUrlPatterns Requests matching these patterns are blocked in the lean profile, '*' is a wildcard
+     */
+    public ChromeDriverFactory(BrowserProfile profile, List<String> blockedUrlPatterns) {
+        this.profile = profile;
+        this.blockedUrlPatterns = blockedUrlPatterns;
+    }
+
+    @Override
+    public WebDriver get() {
+        ChromeDriver driver = new ChromeDriver(new ChromeDriverOptions().getChromeDriverOptions(profile));
+        if (profile == BrowserProfile.LEAN && !blockedUrlPatterns.isEmpty()) {
+            try {
+                //Stays in effect for every navigation of the tab, including after the pool resets the session
+                driver.executeCdpCommand("Network.enable", Map.of());
+                driver.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", blockedUrlPatterns));
+            } catch (RuntimeException e) {
+                driver.quit();
+                throw e;
+            }
+        }
+        return driver;
+    }
+}
@@ -1,19 +1,35 @@
 package hu.robertszujo.seleniumproject.webdriver;
 
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.chrome.ChromeOptions;
 
+import java.util.HashMap;
 import java.util.Map;
 
 public class ChromeDriverOptions {
 
     public ChromeOptions getChromeDriverOptions() {
+        return getChromeDriverOptions(BrowserProfile.STANDARD);
+    }
+
+    public ChromeOptions getChromeDriverOptions(BrowserProfile profile) {
         ChromeOptions options = new ChromeOptions();
 
         //Required to allow access from Selenium
         options.addArguments("--remote-allow-origins=*");
 
         //Force Hungarian language as preferred for visited pages
-        Map<String, Object> userSettings = Map.of("intl.accept_languages", "hu-HU,hu");
+        Map<String, Object> userSettings = new HashMap<>();
+        userSettings.put("intl.accept_languages", "hu-HU,hu");
+
+        if (profile == BrowserProfile.LEAN) {
+            //Same viewport as a desktop browser, so the page lays out the same way as in headed runs
+            options.addArguments("--headless=new", "--window-size=1920,1080", "--disable-extensions");
+            //Navigation returns at DOMContentLoaded, the page objects wait for the elements they need anyway
+            options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+            //Images are never asserted on; fonts are kept, as they change the layout the visibility checks depend on
+            userSettings.put("profile.managed_default_content_settings.images", 2);
+        }
         options.setExperimentalOption("prefs", userSettings);
 
         return options;
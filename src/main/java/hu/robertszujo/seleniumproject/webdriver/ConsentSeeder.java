@@ -0,0 +1,58 @@
+package hu.robertszujo.seleniumproject.webdriver;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes the cookies of an accepted cookie consent into a browser session before the page is opened,
+ * so the consent banner ({@code #popin_tc_privacy}) considers consent already given and never renders.
+ * Has to be applied again after every pool reset, as the reset wipes every cookie.
+ */
+public class ConsentSeeder {
+
+    private static final Duration COOKIE_LIFETIME = Duration.ofDays(180);
+
+    private final Map<String, String> consentCookies;
+
+    /**
+     * @param consentCookies Name and value of every cookie the consent banner writes when it is accepted
+     */
+    public ConsentSeeder(Map<String, String> consentCookies) {
+        this.consentCookies = consentCookies;
+    }
+
+    /**
+     * @param pageUrl Page whose origin gets the consent cookies
+     */
+    public void seed(WebDriver driver, String pageUrl) {
+        URI page = URI.create(pageUrl);
+        String origin = page.getScheme() + "://" + page.getAuthority() + "/";
+        Instant expiry = Instant.now().plus(COOKIE_LIFETIME);
+
+        if (driver instanceof HasCdp cdp) {
+            // No navigation needed, DevTools can set cookies for any origin
+            for (Map.Entry<String, String> cookie : consentCookies.entrySet()) {
+                Map<String, Object> parameters = new LinkedHashMap<>();
+                parameters.put("name", cookie.getKey());
+                parameters.put("value", cookie.getValue());
+                parameters.put("url", origin);
+                parameters.put("path", "/");
+                parameters.put("expires", expiry.getEpochSecond());
+                cdp.executeCdpCommand("Network.setCookie", parameters);
+            }
+        } else {
+            // WebDriver can only set cookies for the page that is open
+            driver.get(origin);
+            consentCookies.forEach((name, value) ->
+                    driver.manage().addCookie(new Cookie(name, value, "/", Date.from(expiry))));
+        }
+    }
+}
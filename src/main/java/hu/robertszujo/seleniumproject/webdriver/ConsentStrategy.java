@@ -0,0 +1,10 @@
+package hu.robertszujo.seleniumproject.webdriver;
+
+public enum ConsentStrategy {
+
+    // The consent cookies are set before the first navigation, so the cookie popup never shows up
+    PRESEED,
+
+    // The cookie popup is shown and accepted like a real visitor would
+    INTERACTIVE
+}
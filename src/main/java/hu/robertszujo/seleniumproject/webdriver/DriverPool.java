@@ -0,0 +1,160 @@
+package hu.robertszujo.seleniumproject.webdriver;
+
+import hu.robertszujo.seleniumproject.constants.WebDriverConstants;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Keeps a bounded set of browser sessions alive for the whole suite and leases them out to tests.
+ * A leased session is always clean: extra tabs are closed, cookies and web storage are wiped
+ * and the session is health-checked before it is handed out.
+ */
+public class DriverPool {
+
+    private final Supplier<WebDriver> driverFactory;
+    private final int maxUsesPerDriver;
+    private final Semaphore freeSlots;
+    private final BlockingQueue<PooledDriver> idleDrivers = new LinkedBlockingQueue<>();
+    private final Map<WebDriver, PooledDriver> leasedDrivers = new ConcurrentHashMap<>();
+    private volatile boolean shutDown;
+
+    public DriverPool(int size, int maxUsesPerDriver, Supplier<WebDriver> driverFactory) {
+        if (size < 1) throw new IllegalArgumentException("Driver pool size must be at least 1, got: " + size);
+        this.driverFactory = driverFactory;
+        this.maxUsesPerDriver = maxUsesPerDriver;
+        this.freeSlots = new Semaphore(size, true);
+    }
+
+    /**
+     * Leases a clean browser session, starting a new one only if no idle session is available
+     * @return a session that must be given back with {@link #release(WebDriver, boolean)}
+     */
+    public WebDriver lease() {
+        if (shutDown) throw new IllegalStateException("Driver pool has already been shut down");
+        acquireSlot();
+
+        try {
+            PooledDriver pooled;
+            while ((pooled = idleDrivers.poll()) != null) {
+                if (resetSession(pooled.driver)) break;
+                quitQuietly(pooled.driver);
+            }
+            if (pooled == null) pooled = new PooledDriver(driverFactory.get());
+
+            pooled.uses++;
+            leasedDrivers.put(pooled.driver, pooled);
+            return pooled.driver;
+        } catch (RuntimeException e) {
+            freeSlots.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Gives a leased session back to the pool
+     * @param healthy false if the session hit an error and must not be reused
+     */
+    public void release(WebDriver driver, boolean healthy) {
+        PooledDriver pooled = leasedDrivers.remove(driver);
+        if (pooled == null) return;
+
+        try {
+            if (healthy && !shutDown && pooled.uses < maxUsesPerDriver) {
+                idleDrivers.offer(pooled);
+            } else {
+                quitQuietly(pooled.driver);
+            }
+        } finally {
+            freeSlots.release();
+        }
+    }
+
+    /**
+     * Quits every idle and leased session. Sessions released after this call are quit as well.
+     */
+    public void shutdown() {
+        shutDown = true;
+        List<PooledDriver> drivers = new ArrayList<>(leasedDrivers.values());
+        idleDrivers.drainTo(drivers);
+        leasedDrivers.clear();
+        drivers.forEach(pooled -> quitQuietly(pooled.driver));
+    }
+
+    private void acquireSlot() {
+        try {
+            if (!freeSlots.tryAcquire(WebDriverConstants.LEASE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("No browser session became free within " + WebDriverConstants.LEASE_TIMEOUT);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser session", e);
+        }
+    }
+
+    /**
+     * Brings a previously used session back to a blank state
+     * @return false if the session is no longer usable
+     */
+    private boolean resetSession(WebDriver driver) {
+        try {
+            closeExtraWindows(driver);
+            clearStorage(driver);
+            driver.get(WebDriverConstants.BLANK_PAGE_URL);
+            return "complete".equals(((JavascriptExecutor) driver).executeScript("return document.readyState;"));
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void closeExtraWindows(WebDriver driver) {
+        String mainWindow = driver.getWindowHandles().iterator().next();
+        for (String handle : driver.getWindowHandles()) {
+            if (!handle.equals(mainWindow)) {
+                driver.switchTo().window(handle).close();
+            }
+        }
+        driver.switchTo().window(mainWindow);
+    }
+
+    private void clearStorage(WebDriver driver) {
+        // Web storage is per origin, so it has to be wiped while the last visited page is still open
+        ((JavascriptExecutor) driver).executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) { }");
+
+        if (driver instanceof HasCdp cdp) {
+            // Cookies of every domain, not just the current one
+            cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+        } else {
+            driver.manage().deleteAllCookies();
+        }
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException ignored) {
+            // Session is already gone
+        }
+    }
+
+    private static final class PooledDriver {
+        private final WebDriver driver;
+        private int uses;
+
+        private PooledDriver(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package hu.robertszujo.seleniumproject.webdriver;
+
+import hu.robertszujo.seleniumproject.context.TestSession;
+import hu.robertszujo.seleniumproject.context.TestSessions;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.net.URL;
+
+/**
+ * Counts every navigation, refresh and window or frame switch of a decorated driver on the session of the test
+ * running on the calling thread. Cached page object elements are only reused until the next count.
+ * <p>
+ * Navigations triggered by the page itself, e.g. a link click, are not seen here; elements they replace
+ * are looked up again when they turn out to be stale.
+ */
+public class NavigationListener implements WebDriverListener {
+
+    @Override
+    public void afterGet(WebDriver driver, String url) {
+        contextChanged();
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navigation, String url) {
+        contextChanged();
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navigation, URL url) {
+        contextChanged();
+    }
+
+    @Override
+    public void afterBack(WebDriver.Navigation navigation) {
+        contextChanged();
+    }
+
+    @Override
+    public void afterForward(WebDriver.Navigation navigation) {
+        contextChanged();
+    }
+
+    @Override
+    public void afterRefresh(WebDriver.Navigation navigation) {
+        contextChanged();
+    }
+
+    @Override
+    public void afterWindow(WebDriver.TargetLocator targetLocator, String nameOrHandle, WebDriver driver) {
+        contextChanged();
+    }
+
+    @Override
+    public void afterNewWindow(WebDriver.TargetLocator targetLocator, WindowType typeHint, WebDriver driver) {
+        contextChanged();
+    }
+
+    @Override
+    public void afterFrame(WebDriver.TargetLocator targetLocator, int index, WebDriver driver) {
+        contextChanged();
+    }
+
+    @Override
+    public void afterFrame(WebDriver.TargetLocator targetLocator, String nameOrId, WebDriver driver) {
+        contextChanged();
+    }
+
+    @Override
+    public void afterFrame(WebDriver.TargetLocator targetLocator, WebElement frameElement, WebDriver driver) {
+        contextChanged();
+    }
+
+    @Override
+    public void afterParentFrame(WebDriver.TargetLocator targetLocator, WebDriver driver) {
+        contextChanged();
+    }
+
+    @Override
+    public void afterDefaultContent(WebDriver.TargetLocator targetLocator, WebDriver driver) {
+        contextChanged();
+    }
+
+    private void contextChanged() {
+        TestSessions.find().ifPresent(TestSession::recordNavigation);
+    }
+}
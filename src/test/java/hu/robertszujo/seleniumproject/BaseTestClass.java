@@ -1,43 +1,221 @@
 package hu.robertszujo.seleniumproject;
 
 import com.aventstack.extentreports.ExtentReports;
-import hu.robertszujo.seleniumproject.constants.TestContextConstants;
+import com.aventstack.extentreports.ExtentTest;
+import hu.robertszujo.seleniumproject.annotations.InteractiveConsent;
+import hu.robertszujo.seleniumproject.cache.PageFingerprint;
+import hu.robertszujo.seleniumproject.cache.ResultCache;
+import hu.robertszujo.seleniumproject.cache.RunMode;
+import hu.robertszujo.seleniumproject.constants.ResultCacheConstants;
+import hu.robertszujo.seleniumproject.constants.ScenarioConstants;
+import hu.robertszujo.seleniumproject.constants.ReportConstants;
+import hu.robertszujo.seleniumproject.constants.ShardConstants;
+import hu.robertszujo.seleniumproject.constants.TestConstants;
+import hu.robertszujo.seleniumproject.constants.WebDriverConstants;
+import hu.robertszujo.seleniumproject.context.TestSession;
+import hu.robertszujo.seleniumproject.context.TestSessions;
+import hu.robertszujo.seleniumproject.metrics.CommandLatencyListener;
+import hu.robertszujo.seleniumproject.metrics.LatencyRecorder;
+import hu.robertszujo.seleniumproject.metrics.LatencyReport;
+import hu.robertszujo.seleniumproject.metrics.PageObjectTiming;
+import hu.robertszujo.seleniumproject.pages.LoanCalculatorPage;
+import hu.robertszujo.seleniumproject.pages.components.CookiePopup;
+import hu.robertszujo.seleniumproject.reporter.ReportEventLog;
+import hu.robertszujo.seleniumproject.reporter.ReportMode;
+import hu.robertszujo.seleniumproject.reporter.ReportRenderer;
 import hu.robertszujo.seleniumproject.reporter.ReporterSetup;
-import hu.robertszujo.seleniumproject.webdriver.ChromeDriverOptions;
+import hu.robertszujo.seleniumproject.reporter.ScreenshotPipeline;
+import hu.robertszujo.seleniumproject.reporter.ScreenshotStore;
+import hu.robertszujo.seleniumproject.scenario.SnapshotMemo;
+import hu.robertszujo.seleniumproject.server.CalculatorTarget;
+import hu.robertszujo.seleniumproject.server.LocalCalculatorServer;
+import hu.robertszujo.seleniumproject.utils.AdaptiveWait;
+import hu.robertszujo.seleniumproject.webdriver.ChromeDriverFactory;
+import hu.robertszujo.seleniumproject.webdriver.ConsentSeeder;
+import hu.robertszujo.seleniumproject.webdriver.ConsentStrategy;
+import hu.robertszujo.seleniumproject.webdriver.DriverPool;
+import hu.robertszujo.seleniumproject.webdriver.NavigationListener;
 import hu.robertszujo.seleniumproject.webdriver.WebDriverSetup;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 import org.testng.ITestContext;
 import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.BeforeSuite;
+import org.testng.xml.XmlSuite;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
 
 public class BaseTestClass {
 
-    protected WebDriver driver;
+    // Only set for the local target; the stand-in site it serves is on the test classpath only
+    private static LocalCalculatorServer localServer;
 
     @BeforeSuite(alwaysRun = true)
-    public void baseBeforeSuite() {
+    public void baseBeforeSuite(ITestContext context) throws IOException {
         new WebDriverSetup().setupChromeDriver();
+        if (TestConstants.CALCULATOR_TARGET == CalculatorTarget.LOCAL) {
+            localServer = LocalCalculatorServer.start();
+            SuiteWideStorage.calculatorPageUrl = localServer.getBaseUrl() + TestConstants.CALCULATOR_PAGE_FRAGMENT;
+        } else {
+            SuiteWideStorage.calculatorPageUrl = TestConstants.CALCULATOR_PAGE_URL;
+        }
+
         SuiteWideStorage.testReport = new ExtentReports();
-        SuiteWideStorage.testReport.attachReporter(new ReporterSetup().createReporter());
+        SuiteWideStorage.reporterSetup = new ReporterSetup();
+        if (ReportConstants.REPORT_MODE == ReportMode.INCREMENTAL || ShardConstants.SHARD.isSharded()) {
+            //Tests are only kept in memory until they are written to the event log, the HTML is rendered at the end.
+            //Shards always write one, it is their partial report that ReportMerger combines
+            SuiteWideStorage.reportEventLog = new ReportEventLog(SuiteWideStorage.reporterSetup.getEventLogPath());
+        } else {
+            SuiteWideStorage.testReport.attachReporter(SuiteWideStorage.reporterSetup.createReporter());
+        }
+        SuiteWideStorage.consentSeeder = new ConsentSeeder(TestConstants.CONSENT_COOKIES);
+        if (ScenarioConstants.MEMOIZE_SNAPSHOTS) SuiteWideStorage.snapshotMemo = new SnapshotMemo();
+        SuiteWideStorage.screenshotPipeline = new ScreenshotPipeline(new ScreenshotStore(SuiteWideStorage.reporterSetup.getReportFolderPath()));
+
+        //One browser session per parallel TestNG thread: the method threads plus the workers of parallel data providers
+        XmlSuite suite = context.getSuite().getXmlSuite();
+        int poolSize = suite.getThreadCount() + suite.getDataProviderThreadCount();
+        ChromeDriverFactory chromeDriverFactory = new ChromeDriverFactory(WebDriverConstants.BROWSER_PROFILE, WebDriverConstants.BLOCKED_URL_PATTERNS);
+        //Every session is decorated, so every command of every test is timed and navigations invalidate cached elements
+        SuiteWideStorage.latencyRecorder = new LatencyRecorder();
+        CommandLatencyListener latencyListener = new CommandLatencyListener(SuiteWideStorage.latencyRecorder);
+        SuiteWideStorage.pageObjectTiming = new PageObjectTiming(SuiteWideStorage.latencyRecorder);
+        NavigationListener navigationListener = new NavigationListener();
+        SuiteWideStorage.driverPool = new DriverPool(poolSize, WebDriverConstants.MAX_USES_PER_DRIVER,
+                () -> new EventFiringDecorator<>(latencyListener, navigationListener).decorate(chromeDriverFactory.get()));
+
+        if (ResultCacheConstants.RUN_MODE == RunMode.INCREMENTAL) {
+            SuiteWideStorage.resultCache = ResultCache.load(ResultCacheConstants.RESULT_CACHE_FILE);
+            SuiteWideStorage.pageFingerprint = fingerprintCalculatorPage();
+        }
+    }
+
+    /**
+     * Opens the calculator page once with a pooled session, before any test touches it
+     */
+    private String fingerprintCalculatorPage() {
+        WebDriver driver = SuiteWideStorage.driverPool.lease();
+        boolean healthy = false;
+        try {
+            SuiteWideStorage.consentSeeder.seed(driver, SuiteWideStorage.calculatorPageUrl);
+            driver.get(SuiteWideStorage.calculatorPageUrl);
+            AdaptiveWait.DEFAULT.until(driver, d -> d.findElement(By.cssSelector("div[class='content_hitelmaximum']")).isDisplayed());
+            String fingerprint = PageFingerprint.of(driver, ResultCacheConstants.FINGERPRINT_SCRIPT_PATTERN);
+            healthy = true;
+            return fingerprint;
+        } finally {
+            SuiteWideStorage.driverPool.release(driver, healthy);
+        }
     }
 
     @BeforeMethod(alwaysRun = true)
-    public void baseBeforeMethod(ITestContext context, ITestResult result) {
-        driver = new ChromeDriver(new ChromeDriverOptions().getChromeDriverOptions());
-        context.setAttribute(TestContextConstants.DRIVER, driver);
+    public void baseBeforeMethod(ITestResult result) {
+        WebDriver driver = SuiteWideStorage.driverPool.lease();
+        boolean interactiveConsent = TestConstants.CONSENT_STRATEGY == ConsentStrategy.INTERACTIVE
+                || result.getMethod().getConstructorOrMethod().getMethod().isAnnotationPresent(InteractiveConsent.class);
+        ConsentStrategy consentStrategy = interactiveConsent ? ConsentStrategy.INTERACTIVE : ConsentStrategy.PRESEED;
+        try {
+            //The pool reset wiped the cookies of the previous lease, so they are seeded on every lease
+            if (consentStrategy == ConsentStrategy.PRESEED) SuiteWideStorage.consentSeeder.seed(driver, SuiteWideStorage.calculatorPageUrl);
+        } catch (RuntimeException e) {
+            SuiteWideStorage.driverPool.release(driver, false);
+            throw e;
+        }
+
+        //Bound to this thread and invocation only, so parallel methods and data provider invocations never share state
+        TestSessions.open(result, driver, consentStrategy, SuiteWideStorage.pageObjectTiming);
     }
 
     @AfterMethod(alwaysRun = true)
-    public void baseAfterMethod() {
-        driver.quit();
+    public void baseAfterMethod(ITestResult result) {
+        TestSessions.close();
+        TestSession session = TestSessions.of(result);
+        if (session == null) return;
+
+        //Sessions that broke during the test are thrown away instead of being reused
+        boolean healthy = !(result.getThrowable() instanceof WebDriverException);
+        SuiteWideStorage.driverPool.release(session.getDriver(), healthy);
+    }
+
+    /**
+     * @return Session of the test invocation running on the current thread
+     */
+    protected TestSession session() {
+        return TestSessions.current();
+    }
+
+    protected WebDriver driver() {
+        return session().getDriver();
+    }
+
+    protected ExtentTest reporter() {
+        return session().getReporter();
+    }
+
+    protected void loadPageAndHandleCookies(WebDriver driver, LoanCalculatorPage loanCalculatorPage, CookiePopup cookiePopup) {
+        driver.get(SuiteWideStorage.calculatorPageUrl);
+
+        //With pre-seeded consent the popup should not render, it is only checked once instead of waited for
+        if (session().getConsentStrategy() == ConsentStrategy.PRESEED) {
+            loanCalculatorPage.waitForCalculatorFormToBeDisplayed();
+            if (cookiePopup.isCookiePopupDisplayed()) {
+                reporter().warning("Cookie popup displayed despite the pre-seeded consent cookies, accepting it on the page");
+                cookiePopup.clickOnCookieAcceptButton();
+                cookiePopup.waitForCookiePopupToDisappear();
+            }
+            return;
+        }
+
+        try {
+            if (cookiePopup.isCookiePopupDisplayedAfterWaiting()) {
+                cookiePopup.clickOnCookieAcceptButton();
+                cookiePopup.waitForCookiePopupToDisappear();
+            }
+        } catch (Exception e) {
+            // Cookie popup might not appear or already accepted
+        }
+
+        loanCalculatorPage.waitForCalculatorFormToBeDisplayed();
+    }
+
+    private void reportCommandLatency() throws IOException {
+        LatencyReport latencyReport = new LatencyReport(SuiteWideStorage.latencyRecorder);
+        latencyReport.writeJson(SuiteWideStorage.reporterSetup.getReportFolderPath()
+                .resolve(ShardConstants.SHARD.qualify(ReportConstants.COMMAND_LATENCY_FILE_NAME)));
+
+        String name = ShardConstants.SHARD.isSharded() ? "Command latency (" + ShardConstants.SHARD + ")" : "Command latency";
+        ExtentTest reporter = SuiteWideStorage.testReport.createTest(name,
+                "WebDriver command latency of the whole suite, per command and per page object method");
+        latencyReport.addTo(reporter);
+        if (SuiteWideStorage.reportEventLog != null) SuiteWideStorage.reportEventLog.append(reporter);
     }
 
     @AfterSuite(alwaysRun = true)
-    public void baseAfterSuite() {
-        SuiteWideStorage.testReport.flush();
+    public void baseAfterSuite() throws IOException {
+        SuiteWideStorage.driverPool.shutdown();
+        if (localServer != null) localServer.stop();
+        //Also waits for the tests that are written to the event log once their screenshot is attached
+        SuiteWideStorage.screenshotPipeline.shutdown(Duration.ofMinutes(1));
+        reportCommandLatency();
+        if (SuiteWideStorage.resultCache != null) SuiteWideStorage.resultCache.save();
+        if (SuiteWideStorage.reportEventLog != null) {
+            SuiteWideStorage.reportEventLog.close();
+            ReportRenderer.render(SuiteWideStorage.reportEventLog.getFile(), SuiteWideStorage.reporterSetup.getReportPath(),
+                    ReportConstants.REPORT_TESTS_PER_FILE);
+            List<String> unwrittenTests = SuiteWideStorage.reportEventLog.getUnwrittenTests();
+            if (!unwrittenTests.isEmpty()) {
+                throw new IllegalStateException("Tests missing from the report event log: " + unwrittenTests);
+            }
+        } else {
+            SuiteWideStorage.testReport.flush();
+        }
     };
 }
@@ -1,102 +1,95 @@
 package hu.robertszujo.seleniumproject;
 
-import com.aventstack.extentreports.ExtentTest;
-import hu.robertszujo.seleniumproject.constants.TestConstants;
-import hu.robertszujo.seleniumproject.constants.TestContextConstants;
+import hu.robertszujo.seleniumproject.annotations.InteractiveConsent;
+import hu.robertszujo.seleniumproject.annotations.RoundTripBudget;
+import hu.robertszujo.seleniumproject.cache.ResultCache;
+import hu.robertszujo.seleniumproject.cache.SnapshotJson;
+import hu.robertszujo.seleniumproject.context.TestSession;
+import hu.robertszujo.seleniumproject.context.TestSessions;
+import hu.robertszujo.seleniumproject.pages.CalculatorSnapshot;
+import hu.robertszujo.seleniumproject.pages.CalculatorSnapshot.Offer;
 import hu.robertszujo.seleniumproject.pages.LoanCalculatorPage;
 import hu.robertszujo.seleniumproject.pages.components.CookiePopup;
+import hu.robertszujo.seleniumproject.rules.LoanRules;
+import hu.robertszujo.seleniumproject.scenario.LoanScenario;
+import hu.robertszujo.seleniumproject.scenario.SnapshotMemo;
+import hu.robertszujo.seleniumproject.utils.NumberParsing;
 import org.assertj.core.api.Assertions;
-import org.openqa.selenium.By;
-import org.openqa.selenium.WebElement;
 import org.testng.Assert;
-import org.testng.ITestContext;
 import org.testng.ITestResult;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
-@Listeners(TestListener.class)
+import java.time.Instant;
+import java.util.Optional;
+
+@Listeners({TestListener.class, RoundTripBudgetListener.class, CachedResultListener.class, LongestFirstScheduler.class, ShardInterceptor.class})
 public class LoanCalculatorTests extends BaseTestClass {
 
-    private ExtentTest reporter;
-    private LoanCalculatorPage loanCalculatorPage;
-    private CookiePopup cookiePopup;
+    // Nothing is kept in fields, methods of this class run in parallel on the same instance
 
     @BeforeMethod(alwaysRun = true)
-    public void beforeMethod(ITestContext context, ITestResult result) {
-        reporter = SuiteWideStorage.testReport.createTest(result.getMethod().getMethodName(), result.getMethod().getDescription());
-        context.setAttribute(TestContextConstants.REPORTER, reporter);
-        initializePageObjects();
-    }
-
-    public void initializePageObjects() {
-        loanCalculatorPage = new LoanCalculatorPage(driver, reporter);
-        cookiePopup = new CookiePopup(driver, reporter);
+    public void beforeMethod(ITestResult result) {
+        session().setReporter(SuiteWideStorage.testReport.createTest(result.getMethod().getMethodName(), result.getMethod().getDescription()));
     }
 
-    // Helper methods
-    private void loadPageAndHandleCookies() {
-        driver.get(TestConstants.CALCULATOR_PAGE_URL);
-
-        try {
-            if (cookiePopup.isCookiePopupDisplayedAfterWaiting()) {
-                cookiePopup.clickOnCookieAcceptButton();
-                cookiePopup.waitForCookiePopupToDisappear();
+    /**
+     * In the incremental run mode the calculations made on the page are kept for the next runs, see {@link #calculate},
+     * if every test that used them passed: tests share calculations through the {@link SnapshotMemo}.
+     * Runs after the listeners settled the outcome and before the base class releases the session.
+     */
+    @AfterMethod(alwaysRun = true)
+    public void afterMethod(ITestResult result) {
+        ResultCache resultCache = SuiteWideStorage.resultCache;
+        TestSession session = TestSessions.of(result);
+        if (resultCache == null || session == null) return;
+
+        session.getCalculations().forEach((input, snapshot) -> {
+            if (!result.isSuccess()) {
+                resultCache.recordFailure(calculationCacheKey(input));
+            } else if (!session.isCachedCalculation(input)) {
+                resultCache.recordGreen(calculationCacheKey(input), SuiteWideStorage.pageFingerprint, SnapshotJson.toJson(snapshot));
             }
-        } catch (Exception e) {
-            // Cookie popup might not appear or already accepted
-        }
-
-        loanCalculatorPage.waitForCalculatorFormToBeDisplayed();
+        });
     }
 
-    private void quickRefresh() {
-        driver.navigate().refresh();
-        loanCalculatorPage.waitForCalculatorFormToBeDisplayed();
+    private LoanCalculatorPage loanCalculatorPage() {
+        return session().getPage(LoanCalculatorPage.class, LoanCalculatorPage::new);
     }
 
-    private int extractNumericLoanAmount(String loanAmountText) {
-        try {
-            String clean = loanAmountText.replaceAll("[^0-9]", "");
-            return Integer.parseInt(clean);
-        } catch (Exception e) {
-            return 0;
-        }
+    private CookiePopup cookiePopup() {
+        return session().getPage(CookiePopup.class, CookiePopup::new);
     }
 
-    private double parseAPRToDouble(String aprString) {
-        try {
-            String clean = aprString.trim().replace(",", ".");
-            return Double.parseDouble(clean);
-        } catch (Exception e) {
-            return 0.0;
-        }
+    // Helper methods
+    private void loadPageAndHandleCookies() {
+        loadPageAndHandleCookies(driver(), loanCalculatorPage(), cookiePopup());
     }
 
-    private void waitForValidation() {
-        try {
-            Thread.sleep(300);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+    private void quickRefresh() {
+        loanCalculatorPage().resetForm();
     }
 
     // *** Specification Requirement Tests ***
 
+    @InteractiveConsent
     @Test(description = "Cookie popup should be displayed after page load")
     public void loadCalculatorPage_cookiePopupShouldBeDisplayed() {
-        driver.get(TestConstants.CALCULATOR_PAGE_URL);
-        Assertions.assertThat(cookiePopup.isCookiePopupDisplayedAfterWaiting())
+        driver().get(SuiteWideStorage.calculatorPageUrl);
+        Assertions.assertThat(cookiePopup().isCookiePopupDisplayedAfterWaiting())
                 .as("Cookie popup should have displayed after page load")
                 .isTrue();
     }
 
+    @InteractiveConsent
     @Test(description = "Cookie popup should disappear after accepting cookies")
     public void acceptCookies_CookiePopupShouldDisappear() {
-        driver.get(TestConstants.CALCULATOR_PAGE_URL);
-        cookiePopup.waitForCookiePopupToBeDisplayed();
-        cookiePopup.clickOnCookieAcceptButton();
-        Assertions.assertThat(cookiePopup.hasCookiePopupDisappearedAfterWaiting())
+        driver().get(SuiteWideStorage.calculatorPageUrl);
+        cookiePopup().waitForCookiePopupToBeDisplayed();
+        cookiePopup().clickOnCookieAcceptButton();
+        Assertions.assertThat(cookiePopup().hasCookiePopupDisappearedAfterWaiting())
                 .as("Cookie popup should have disappeared")
                 .isTrue();
     }
@@ -104,23 +97,23 @@ public class LoanCalculatorTests extends BaseTestClass {
     @Test(description = "Calculator form should be displayed after page load & accepting cookies")
     public void loadPageAndAcceptCookies_CalculatorFormShouldBeDisplayed() {
         loadPageAndHandleCookies();
-        loanCalculatorPage.isCalculatorFormDisplayedAfterWaiting();
+        loanCalculatorPage().isCalculatorFormDisplayedAfterWaiting();
     }
 
     @Test(description = "Age validation: 17 (error), 18 (no error)")
     public void ageBoundaryTest() {
         loadPageAndHandleCookies();
 
-        loanCalculatorPage.setCustomerAge(17);
-        Assert.assertTrue(loanCalculatorPage.isAgeErrorVisible(),
+        loanCalculatorPage().setCustomerAge(LoanRules.MIN_AGE - 1);
+        Assert.assertTrue(loanCalculatorPage().isAgeErrorVisible(),
                 "Error should show for age 17");
 
-        loanCalculatorPage.setCustomerAge(18);
-        Assert.assertFalse(loanCalculatorPage.isAgeErrorVisible(),
+        loanCalculatorPage().setCustomerAge(LoanRules.MIN_AGE);
+        Assert.assertFalse(loanCalculatorPage().isAgeErrorVisible(),
                 "No error should show for age 18");
 
-        loanCalculatorPage.setCustomerAge(19);
-        Assert.assertFalse(loanCalculatorPage.isAgeErrorVisible(),
+        loanCalculatorPage().setCustomerAge(LoanRules.MIN_AGE + 1);
+        Assert.assertFalse(loanCalculatorPage().isAgeErrorVisible(),
                 "No error should show for age 19");
     }
 
@@ -128,16 +121,16 @@ public class LoanCalculatorTests extends BaseTestClass {
     public void age65PlusBoundaryTest() {
         loadPageAndHandleCookies();
 
-        loanCalculatorPage.setCustomerAge(65);
-        Assert.assertFalse(loanCalculatorPage.isAgeErrorVisible(),
+        loanCalculatorPage().setCustomerAge(LoanRules.MAX_AGE);
+        Assert.assertFalse(loanCalculatorPage().isAgeErrorVisible(),
                 "No error should show for age 65");
 
-        loanCalculatorPage.setCustomerAge(66);
-        Assert.assertTrue(loanCalculatorPage.isAgeErrorVisible(),
+        loanCalculatorPage().setCustomerAge(LoanRules.MAX_AGE + 1);
+        Assert.assertTrue(loanCalculatorPage().isAgeErrorVisible(),
                 "Error should show for age 66");
 
-        loanCalculatorPage.setCustomerAge(70);
-        Assert.assertTrue(loanCalculatorPage.isAgeErrorVisible(),
+        loanCalculatorPage().setCustomerAge(70);
+        Assert.assertTrue(loanCalculatorPage().isAgeErrorVisible(),
                 "Error should show for age 70");
     }
 
@@ -145,44 +138,40 @@ public class LoanCalculatorTests extends BaseTestClass {
     public void propertyValueBoundaryTests() {
         loadPageAndHandleCookies();
 
-        loanCalculatorPage.setCustomerAge(30);
-        loanCalculatorPage.selectHouseholdType(true);
-        loanCalculatorPage.setMonthlyIncome(500000);
-        loanCalculatorPage.setExistingLoanRepayment(0);
+        loanCalculatorPage().setCustomerAge(30);
+        loanCalculatorPage().selectHouseholdType(true);
+        loanCalculatorPage().setMonthlyIncome(500000);
+        loanCalculatorPage().setExistingLoanRepayment(0);
 
-        loanCalculatorPage.setPropertyValue(4999999);
-        waitForValidation();
-        Assert.assertTrue(loanCalculatorPage.isPropertyValueErrorDisplayed(),
+        loanCalculatorPage().setPropertyValue((int) LoanRules.MIN_PROPERTY_VALUE - 1);
+        Assert.assertTrue(loanCalculatorPage().isPropertyValueErrorDisplayed(),
                 "Error should show for 4,999,999 (1 below minimum)");
 
         quickRefresh();
-        loanCalculatorPage.setCustomerAge(30);
-        loanCalculatorPage.selectHouseholdType(true);
-        loanCalculatorPage.setMonthlyIncome(500000);
-        loanCalculatorPage.setExistingLoanRepayment(0);
-        loanCalculatorPage.setPropertyValue(5000000);
-        waitForValidation();
-        Assert.assertFalse(loanCalculatorPage.isPropertyValueErrorDisplayed(),
+        loanCalculatorPage().setCustomerAge(30);
+        loanCalculatorPage().selectHouseholdType(true);
+        loanCalculatorPage().setMonthlyIncome(500000);
+        loanCalculatorPage().setExistingLoanRepayment(0);
+        loanCalculatorPage().setPropertyValue((int) LoanRules.MIN_PROPERTY_VALUE);
+        Assert.assertFalse(loanCalculatorPage().isPropertyValueErrorDisplayed(),
                 "No error should show for 5,000,000 (exact minimum)");
 
         quickRefresh();
-        loanCalculatorPage.setCustomerAge(30);
-        loanCalculatorPage.selectHouseholdType(true);
-        loanCalculatorPage.setMonthlyIncome(500000);
-        loanCalculatorPage.setExistingLoanRepayment(0);
-        loanCalculatorPage.setPropertyValue(5000001);
-        waitForValidation();
-        Assert.assertFalse(loanCalculatorPage.isPropertyValueErrorDisplayed(),
+        loanCalculatorPage().setCustomerAge(30);
+        loanCalculatorPage().selectHouseholdType(true);
+        loanCalculatorPage().setMonthlyIncome(500000);
+        loanCalculatorPage().setExistingLoanRepayment(0);
+        loanCalculatorPage().setPropertyValue((int) LoanRules.MIN_PROPERTY_VALUE + 1);
+        Assert.assertFalse(loanCalculatorPage().isPropertyValueErrorDisplayed(),
                 "No error should show for 5,000,001 (1 above minimum)");
 
         quickRefresh();
-        loanCalculatorPage.setCustomerAge(30);
-        loanCalculatorPage.selectHouseholdType(true);
-        loanCalculatorPage.setMonthlyIncome(500000);
-        loanCalculatorPage.setExistingLoanRepayment(0);
-        loanCalculatorPage.setPropertyValue(6000000);
-        waitForValidation();
-        Assert.assertFalse(loanCalculatorPage.isPropertyValueErrorDisplayed(),
+        loanCalculatorPage().setCustomerAge(30);
+        loanCalculatorPage().selectHouseholdType(true);
+        loanCalculatorPage().setMonthlyIncome(500000);
+        loanCalculatorPage().setExistingLoanRepayment(0);
+        loanCalculatorPage().setPropertyValue(6000000);
+        Assert.assertFalse(loanCalculatorPage().isPropertyValueErrorDisplayed(),
                 "No error should show for 6,000,000 (well above minimum)");
     }
 
@@ -190,21 +179,21 @@ public class LoanCalculatorTests extends BaseTestClass {
     public void singleEarnerIncomeBoundaryTests() {
         loadPageAndHandleCookies();
 
-        loanCalculatorPage.setCustomerAge(30);
-        loanCalculatorPage.setPropertyValue(50000000);
-        loanCalculatorPage.selectHouseholdType(true);
-        loanCalculatorPage.setExistingLoanRepayment(0);
+        loanCalculatorPage().setCustomerAge(30);
+        loanCalculatorPage().setPropertyValue(50000000);
+        loanCalculatorPage().selectHouseholdType(true);
+        loanCalculatorPage().setExistingLoanRepayment(0);
 
-        loanCalculatorPage.setMonthlyIncome(192999);
-        Assert.assertTrue(loanCalculatorPage.isMonthlyIncomeErrorDisplayed(),
+        loanCalculatorPage().setMonthlyIncome((int) LoanRules.MIN_INCOME_SINGLE_EARNER - 1);
+        Assert.assertTrue(loanCalculatorPage().isMonthlyIncomeErrorDisplayed(),
                 "Error should show for 192,999 (1 below single earner minimum)");
 
-        loanCalculatorPage.setMonthlyIncome(193000);
-        Assert.assertFalse(loanCalculatorPage.isMonthlyIncomeErrorDisplayed(),
+        loanCalculatorPage().setMonthlyIncome((int) LoanRules.MIN_INCOME_SINGLE_EARNER);
+        Assert.assertFalse(loanCalculatorPage().isMonthlyIncomeErrorDisplayed(),
                 "No error should show for 193,000 (exact single earner minimum)");
 
-        loanCalculatorPage.setMonthlyIncome(193001);
-        Assert.assertFalse(loanCalculatorPage.isMonthlyIncomeErrorDisplayed(),
+        loanCalculatorPage().setMonthlyIncome((int) LoanRules.MIN_INCOME_SINGLE_EARNER + 1);
+        Assert.assertFalse(loanCalculatorPage().isMonthlyIncomeErrorDisplayed(),
                 "No error should show for 193,001 (1 above single earner minimum)");
     }
 
@@ -212,21 +201,21 @@ public class LoanCalculatorTests extends BaseTestClass {
     public void multipleEarnerIncomeBoundaryTests() {
         loadPageAndHandleCookies();
 
-        loanCalculatorPage.setCustomerAge(30);
-        loanCalculatorPage.setPropertyValue(50000000);
-        loanCalculatorPage.selectHouseholdType(false);
-        loanCalculatorPage.setExistingLoanRepayment(0);
+        loanCalculatorPage().setCustomerAge(30);
+        loanCalculatorPage().setPropertyValue(50000000);
+        loanCalculatorPage().selectHouseholdType(false);
+        loanCalculatorPage().setExistingLoanRepayment(0);
 
-        loanCalculatorPage.setMonthlyIncome(289999);
-        Assert.assertTrue(loanCalculatorPage.isMonthlyIncomeErrorDisplayed(),
+        loanCalculatorPage().setMonthlyIncome((int) LoanRules.MIN_INCOME_MULTIPLE_EARNERS - 1);
+        Assert.assertTrue(loanCalculatorPage().isMonthlyIncomeErrorDisplayed(),
                 "Error should show for 289,999 (1 below multiple earner minimum)");
 
-        loanCalculatorPage.setMonthlyIncome(290000);
-        Assert.assertFalse(loanCalculatorPage.isMonthlyIncomeErrorDisplayed(),
+        loanCalculatorPage().setMonthlyIncome((int) LoanRules.MIN_INCOME_MULTIPLE_EARNERS);
+        Assert.assertFalse(loanCalculatorPage().isMonthlyIncomeErrorDisplayed(),
                 "No error should show for 290,000 (exact multiple earner minimum)");
 
-        loanCalculatorPage.setMonthlyIncome(290001);
-        Assert.assertFalse(loanCalculatorPage.isMonthlyIncomeErrorDisplayed(),
+        loanCalculatorPage().setMonthlyIncome((int) LoanRules.MIN_INCOME_MULTIPLE_EARNERS + 1);
+        Assert.assertFalse(loanCalculatorPage().isMonthlyIncomeErrorDisplayed(),
                 "No error should show for 290,001 (1 above multiple earner minimum)");
     }
 
@@ -234,67 +223,67 @@ public class LoanCalculatorTests extends BaseTestClass {
     public void existingLoanRepayment800kThresholdTest() {
         loadPageAndHandleCookies();
 
-        loanCalculatorPage.setCustomerAge(30);
-        loanCalculatorPage.setPropertyValue(50000000);
-        loanCalculatorPage.selectHouseholdType(true);
+        loanCalculatorPage().setCustomerAge(30);
+        loanCalculatorPage().setPropertyValue(50000000);
+        loanCalculatorPage().selectHouseholdType(true);
 
         // Test BELOW 800,000 threshold - 50% limit
-        loanCalculatorPage.setMonthlyIncome(1000000);
+        loanCalculatorPage().setMonthlyIncome(1000000);
 
-        loanCalculatorPage.setExistingLoanRepayment(490000);
-        Assert.assertFalse(loanCalculatorPage.isExistingLoanRepaymentErrorDisplayed(),
+        loanCalculatorPage().setExistingLoanRepayment(490000);
+        Assert.assertFalse(loanCalculatorPage().isExistingLoanRepaymentErrorDisplayed(),
                 "No error should show for 49% repayment (below 800k threshold)");
 
-        loanCalculatorPage.setExistingLoanRepayment(500000);
-        Assert.assertFalse(loanCalculatorPage.isExistingLoanRepaymentErrorDisplayed(),
+        loanCalculatorPage().setExistingLoanRepayment(500000);
+        Assert.assertFalse(loanCalculatorPage().isExistingLoanRepaymentErrorDisplayed(),
                 "No error should show for 50% repayment (below 800k threshold)");
 
-        loanCalculatorPage.setExistingLoanRepayment(510000);
-        boolean error51Percent = loanCalculatorPage.isExistingLoanRepaymentErrorDisplayed();
-        reporter.info("Error for 51% repayment (below 800k): " + error51Percent);
+        loanCalculatorPage().setExistingLoanRepayment(510000);
+        boolean error51Percent = loanCalculatorPage().isExistingLoanRepaymentErrorDisplayed();
+        reporter().info("Error for 51% repayment (below 800k): " + error51Percent);
 
         // Test AT 800,000 threshold - should use 60% rule
         quickRefresh();
-        loanCalculatorPage.setCustomerAge(30);
-        loanCalculatorPage.setPropertyValue(50000000);
-        loanCalculatorPage.selectHouseholdType(true);
+        loanCalculatorPage().setCustomerAge(30);
+        loanCalculatorPage().setPropertyValue(50000000);
+        loanCalculatorPage().selectHouseholdType(true);
 
         int incomeFor800k = 1600000;
-        loanCalculatorPage.setMonthlyIncome(incomeFor800k);
+        loanCalculatorPage().setMonthlyIncome(incomeFor800k);
 
-        loanCalculatorPage.setExistingLoanRepayment(800000);
-        Assert.assertFalse(loanCalculatorPage.isExistingLoanRepaymentErrorDisplayed(),
+        loanCalculatorPage().setExistingLoanRepayment(800000);
+        Assert.assertFalse(loanCalculatorPage().isExistingLoanRepaymentErrorDisplayed(),
                 "No error should show for 800,000 repayment (at threshold, using 60% rule)");
 
-        loanCalculatorPage.setExistingLoanRepayment(960000);
-        Assert.assertFalse(loanCalculatorPage.isExistingLoanRepaymentErrorDisplayed(),
+        loanCalculatorPage().setExistingLoanRepayment(960000);
+        Assert.assertFalse(loanCalculatorPage().isExistingLoanRepaymentErrorDisplayed(),
                 "No error should show for 60% repayment (at 800k threshold)");
 
-        loanCalculatorPage.setExistingLoanRepayment(976000);
-        boolean error61Percent = loanCalculatorPage.isExistingLoanRepaymentErrorDisplayed();
-        reporter.info("Error for 61% repayment (at 800k threshold): " + error61Percent);
+        loanCalculatorPage().setExistingLoanRepayment(976000);
+        boolean error61Percent = loanCalculatorPage().isExistingLoanRepaymentErrorDisplayed();
+        reporter().info("Error for 61% repayment (at 800k threshold): " + error61Percent);
 
         // Test ABOVE 800,000 threshold - 60% limit
         quickRefresh();
-        loanCalculatorPage.setCustomerAge(30);
-        loanCalculatorPage.setPropertyValue(50000000);
-        loanCalculatorPage.selectHouseholdType(true);
+        loanCalculatorPage().setCustomerAge(30);
+        loanCalculatorPage().setPropertyValue(50000000);
+        loanCalculatorPage().selectHouseholdType(true);
 
-        loanCalculatorPage.setMonthlyIncome(2000000);
+        loanCalculatorPage().setMonthlyIncome(2000000);
 
-        loanCalculatorPage.setExistingLoanRepayment(1100000);
-        Assert.assertFalse(loanCalculatorPage.isExistingLoanRepaymentErrorDisplayed(),
+        loanCalculatorPage().setExistingLoanRepayment(1100000);
+        Assert.assertFalse(loanCalculatorPage().isExistingLoanRepaymentErrorDisplayed(),
                 "No error should show for 55% repayment (above 800k but below 60%)");
 
-        loanCalculatorPage.setExistingLoanRepayment(1200000);
-        Assert.assertFalse(loanCalculatorPage.isExistingLoanRepaymentErrorDisplayed(),
+        loanCalculatorPage().setExistingLoanRepayment(1200000);
+        Assert.assertFalse(loanCalculatorPage().isExistingLoanRepaymentErrorDisplayed(),
                 "No error should show for 60% repayment (above 800k threshold)");
 
-        loanCalculatorPage.setExistingLoanRepayment(1220000);
-        boolean error61PercentAbove = loanCalculatorPage.isExistingLoanRepaymentErrorDisplayed();
-        reporter.info("Error for 61% repayment (above 800k threshold): " + error61PercentAbove);
+        loanCalculatorPage().setExistingLoanRepayment(1220000);
+        boolean error61PercentAbove = loanCalculatorPage().isExistingLoanRepaymentErrorDisplayed();
+        reporter().info("Error for 61% repayment (above 800k threshold): " + error61PercentAbove);
 
-        reporter.pass("800k threshold tests completed");
+        reporter().pass("800k threshold tests completed");
     }
 
     // *** Additional Required Tests ***
@@ -304,52 +293,17 @@ public class LoanCalculatorTests extends BaseTestClass {
         loadPageAndHandleCookies();
 
         // Setup: High income, no existing loans
-        loanCalculatorPage.setCustomerAge(30);
-        loanCalculatorPage.selectHouseholdType(false);
-        loanCalculatorPage.setMonthlyIncome(1000000);
-        loanCalculatorPage.setExistingLoanRepayment(0);
-        loanCalculatorPage.setBankAccountCreditOption(true);
-        loanCalculatorPage.setBabyLoanOption(false);
-        loanCalculatorPage.setInsuranceOption(true);
-
-        loanCalculatorPage.setPropertyValue(10000000);
-        loanCalculatorPage.clickCalculateLoanButton();
-        loanCalculatorPage.waitForResults();
-        int loan1 = extractNumericLoanAmount(loanCalculatorPage.getLoanAmountFromFirstOffer());
+        LoanScenario scenario = new LoanScenario(30, 10000000, false, 1000000, 0, true, false, true);
 
-        quickRefresh();
-        loanCalculatorPage.setCustomerAge(30);
-        loanCalculatorPage.selectHouseholdType(false);
-        loanCalculatorPage.setMonthlyIncome(1000000);
-        loanCalculatorPage.setExistingLoanRepayment(0);
-        loanCalculatorPage.setBankAccountCreditOption(true);
-        loanCalculatorPage.setBabyLoanOption(false);
-        loanCalculatorPage.setInsuranceOption(true);
-
-        loanCalculatorPage.setPropertyValue(30000000);
-        loanCalculatorPage.clickCalculateLoanButton();
-        loanCalculatorPage.waitForResults();
-        int loan2 = extractNumericLoanAmount(loanCalculatorPage.getLoanAmountFromFirstOffer());
-
-        quickRefresh();
-        loanCalculatorPage.setCustomerAge(30);
-        loanCalculatorPage.selectHouseholdType(false);
-        loanCalculatorPage.setMonthlyIncome(1000000);
-        loanCalculatorPage.setExistingLoanRepayment(0);
-        loanCalculatorPage.setBankAccountCreditOption(true);
-        loanCalculatorPage.setBabyLoanOption(false);
-        loanCalculatorPage.setInsuranceOption(true);
-
-        loanCalculatorPage.setPropertyValue(50000000);
-        loanCalculatorPage.clickCalculateLoanButton();
-        loanCalculatorPage.waitForResults();
-        int loan3 = extractNumericLoanAmount(loanCalculatorPage.getLoanAmountFromFirstOffer());
+        int loan1 = firstOfferLoanAmount(calculate(scenario, "10M property"));
+        int loan2 = firstOfferLoanAmount(calculate(scenario.withPropertyValue(30000000), "30M property"));
+        int loan3 = firstOfferLoanAmount(calculate(scenario.withPropertyValue(50000000), "50M property"));
 
         Assert.assertTrue(loan1 < loan2 && loan2 < loan3,
                 "Loan should increase with property value: " +
                         loan1 + " (10M) < " + loan2 + " (30M) < " + loan3 + " (50M)");
 
-        reporter.info("Loan increases with property value: " + loan1 + " → " + loan2 + " → " + loan3);
+        reporter().info("Loan increases with property value: " + loan1 + " → " + loan2 + " → " + loan3);
     }
 
     @Test(description = "Maximum loan amount increases with higher income")
@@ -376,9 +330,7 @@ public class LoanCalculatorTests extends BaseTestClass {
                 "Loan should decrease with higher repayments: " + loan1 + " >= " + loan2 + " >= " + loan3);
 
         // Credit limit test (simulated with repayment field)
-        quickRefresh();
         int loan4 = testRepaymentLoanMapping(0, "No credit limit");
-        quickRefresh();
         int loan5 = testRepaymentLoanMapping(300000, "300K credit limit");
 
         Assert.assertTrue(loan5 <= loan4,
@@ -391,7 +343,7 @@ public class LoanCalculatorTests extends BaseTestClass {
 
         testPropertyLoanMapping(5500000, 4400000, "5.5M property → 4.4M loan");
         testPropertyLoanMapping(10000000, 8000000, "10M property → 8M loan");
-        testPropertyLoanMapping(300000000, 48300000, "300M property → 48.3M loan");
+        testPropertyLoanMapping(300000000, (int) LoanRules.MAX_LOAN_AMOUNT, "300M property → 48.3M loan");
     }
 
     @Test(description = "Insurance reduces APR")
@@ -407,128 +359,98 @@ public class LoanCalculatorTests extends BaseTestClass {
 
     // *** Supporting Tests ***
 
+    @RoundTripBudget(value = 60, failOnOverrun = false)
     @Test(description = "Complete end-to-end test with valid data")
     public void completeValidScenarioTest() {
         loadPageAndHandleCookies();
 
-        loanCalculatorPage.setCustomerAge(35);
-        loanCalculatorPage.setPropertyValue(30000000);
-        loanCalculatorPage.selectHouseholdType(false);
-        loanCalculatorPage.setMonthlyIncome(600000);
-        loanCalculatorPage.setExistingLoanRepayment(100000);
-        loanCalculatorPage.setBankAccountCreditOption(true);
-        loanCalculatorPage.setBabyLoanOption(false);
-        loanCalculatorPage.setInsuranceOption(true);
+        loanCalculatorPage().fillForm(new LoanScenario(35, 30000000, false, 600000, 100000, true, false, true));
 
-        loanCalculatorPage.clickCalculateLoanButton();
-        loanCalculatorPage.waitForResults();
+        loanCalculatorPage().clickCalculateLoanButton();
+        loanCalculatorPage().waitForResults();
 
-        String loanAmount = loanCalculatorPage.getLoanAmountFromFirstOffer();
-        String monthlyRepayment = loanCalculatorPage.getMonthlyRepaymentFromFirstOffer();
+        String loanAmount = loanCalculatorPage().getLoanAmountFromFirstOffer();
+        String monthlyRepayment = loanCalculatorPage().getMonthlyRepaymentFromFirstOffer();
 
         Assert.assertFalse(loanAmount.isEmpty(), "Loan amount should be displayed");
         Assert.assertFalse(monthlyRepayment.isEmpty(), "Monthly repayment should be displayed");
-        Assert.assertTrue(loanCalculatorPage.isInterestedButtonClickable(),
+        Assert.assertTrue(loanCalculatorPage().isInterestedButtonClickable(),
                 "'I'm interested' button should be available");
     }
 
+    @RoundTripBudget(value = 40, failOnOverrun = false)
     @Test(description = "Edge case values test")
     public void edgeCaseValuesTest() {
         loadPageAndHandleCookies();
 
-        loanCalculatorPage.setCustomerAge(18);
-        loanCalculatorPage.setPropertyValue(5000000);
-        loanCalculatorPage.selectHouseholdType(true);
-        loanCalculatorPage.setMonthlyIncome(193000);
-        loanCalculatorPage.setExistingLoanRepayment(0);
-        loanCalculatorPage.setBankAccountCreditOption(false);
-        loanCalculatorPage.setBabyLoanOption(false);
-        loanCalculatorPage.setInsuranceOption(false);
+        loanCalculatorPage().fillForm(new LoanScenario(18, 5000000, true, 193000, 0, false, false, false));
 
-        loanCalculatorPage.clickCalculateLoanButton();
+        loanCalculatorPage().clickCalculateLoanButton();
     }
 
     // *** Helper methods ***
 
-    private void testPropertyLoanMapping(int propertyValue, int expectedLoan, String message) {
-        quickRefresh();
-
-        loanCalculatorPage.setCustomerAge(30);
-        loanCalculatorPage.selectHouseholdType(false);
-        loanCalculatorPage.setMonthlyIncome(600000);
-        loanCalculatorPage.setExistingLoanRepayment(0);
-        loanCalculatorPage.setBankAccountCreditOption(true);
-        loanCalculatorPage.setBabyLoanOption(false);
-        loanCalculatorPage.setInsuranceOption(true);
-
-        loanCalculatorPage.setPropertyValue(propertyValue);
-        loanCalculatorPage.clickCalculateLoanButton();
-        loanCalculatorPage.waitForResults();
+    /**
+     * Calculates the scenario in the browser, unless an other test of the run already did or is doing it,
+     * or, in the incremental run mode, a passed test of an earlier run did it against the same page.
+     * A test whose every calculation came from the result cache is reported as skipped, see {@link CachedResultListener}.
+     */
+    private CalculatorSnapshot calculate(LoanScenario scenario, String description) {
+        CalculatorSnapshot snapshot;
+        Optional<ResultCache.Entry> cached = SuiteWideStorage.resultCache == null ? Optional.empty()
+                : SuiteWideStorage.resultCache.findGreen(calculationCacheKey(scenario), SuiteWideStorage.pageFingerprint);
+        if (cached.isPresent()) {
+            snapshot = SnapshotJson.fromJson(cached.get().outcome());
+            reporter().info(description + " → taken from the result cache, passed against the same page on "
+                    + Instant.ofEpochMilli(cached.get().recordedAt()));
+        } else if (SuiteWideStorage.snapshotMemo == null) {
+            snapshot = calculateOnPage(scenario);
+        } else {
+            SnapshotMemo.Result result = SuiteWideStorage.snapshotMemo.get(scenario, this::calculateOnPage);
+            snapshot = result.snapshot();
+            if (result.memoized()) reporter().info(description + " → calculated earlier in this run");
+        }
+        session().recordCalculation(scenario, snapshot, cached.isPresent());
 
-        int actualLoan = extractNumericLoanAmount(loanCalculatorPage.getLoanAmountFromFirstOffer());
-        Assert.assertEquals(actualLoan, expectedLoan, message);
+        reporter().info(description + " → Loan: " + snapshot.getFirstOffer().map(Offer::maxLoanAmount).orElse(""));
+        return snapshot;
     }
 
-    private int testIncomeLoanMapping(int income, String description) {
+    private CalculatorSnapshot calculateOnPage(LoanScenario scenario) {
         quickRefresh();
 
-        loanCalculatorPage.setCustomerAge(30);
-        loanCalculatorPage.setPropertyValue(100000000);
-        loanCalculatorPage.selectHouseholdType(false);
-        loanCalculatorPage.setMonthlyIncome(income);
-        loanCalculatorPage.setExistingLoanRepayment(50000);
-        loanCalculatorPage.setBankAccountCreditOption(true);
-        loanCalculatorPage.setBabyLoanOption(false);
-        loanCalculatorPage.setInsuranceOption(true);
+        loanCalculatorPage().fillForm(scenario);
+        loanCalculatorPage().clickCalculateLoanButton();
+        loanCalculatorPage().waitForResults();
 
-        loanCalculatorPage.clickCalculateLoanButton();
-        loanCalculatorPage.waitForResults();
+        return loanCalculatorPage().takeSnapshot();
+    }
 
-        reporter.info(description + " → Loan: " + loanCalculatorPage.getLoanAmountFromFirstOffer());
-        return extractNumericLoanAmount(loanCalculatorPage.getLoanAmountFromFirstOffer());
+    private static String calculationCacheKey(LoanScenario scenario) {
+        return "calculation " + scenario;
     }
 
-    private int testRepaymentLoanMapping(int repayment, String description) {
-        quickRefresh();
+    private int firstOfferLoanAmount(CalculatorSnapshot snapshot) {
+        return NumberParsing.parseAmount(snapshot.getFirstOffer().map(Offer::maxLoanAmount).orElse(""));
+    }
 
-        loanCalculatorPage.setCustomerAge(30);
-        loanCalculatorPage.setPropertyValue(100000000);
-        loanCalculatorPage.selectHouseholdType(false);
-        loanCalculatorPage.setMonthlyIncome(800000);
-        loanCalculatorPage.setExistingLoanRepayment(repayment);
-        loanCalculatorPage.setBankAccountCreditOption(true);
-        loanCalculatorPage.setBabyLoanOption(false);
-        loanCalculatorPage.setInsuranceOption(true);
+    private void testPropertyLoanMapping(int propertyValue, int expectedLoan, String message) {
+        CalculatorSnapshot snapshot = calculate(new LoanScenario(30, propertyValue, false, 600000, 0, true, false, true), message);
+        Assert.assertEquals(firstOfferLoanAmount(snapshot), expectedLoan, message);
+    }
 
-        loanCalculatorPage.clickCalculateLoanButton();
-        loanCalculatorPage.waitForResults();
+    private int testIncomeLoanMapping(int income, String description) {
+        return firstOfferLoanAmount(calculate(new LoanScenario(30, 100000000, false, income, 50000, true, false, true), description));
+    }
 
-        reporter.info(description + " → Loan: " + loanCalculatorPage.getLoanAmountFromFirstOffer());
-        return extractNumericLoanAmount(loanCalculatorPage.getLoanAmountFromFirstOffer());
+    private int testRepaymentLoanMapping(int repayment, String description) {
+        return firstOfferLoanAmount(calculate(new LoanScenario(30, 100000000, false, 800000, repayment, true, false, true), description));
     }
 
     private double testInsuranceAPR(boolean insurance, String description) {
-        quickRefresh();
-
-        loanCalculatorPage.setCustomerAge(35);
-        loanCalculatorPage.setPropertyValue(30000000);
-        loanCalculatorPage.selectHouseholdType(false);
-        loanCalculatorPage.setMonthlyIncome(600000);
-        loanCalculatorPage.setExistingLoanRepayment(100000);
-        loanCalculatorPage.setBankAccountCreditOption(true);
-        loanCalculatorPage.setBabyLoanOption(false);
-        loanCalculatorPage.setInsuranceOption(insurance);
-
-        loanCalculatorPage.clickCalculateLoanButton();
-        loanCalculatorPage.waitForResults();
-
-        try {
-            WebElement aprElement = driver.findElement(By.id("box_1_thm"));
-            double apr = parseAPRToDouble(aprElement.getText());
-            reporter.info(description + " → APR: " + apr + "%");
-            return apr;
-        } catch (Exception e) {
-            return 0.0;
-        }
+        CalculatorSnapshot snapshot = calculate(new LoanScenario(35, 30000000, false, 600000, 100000, true, false, insurance), description);
+        double apr = NumberParsing.parseDecimal(snapshot.getFirstOffer().map(Offer::apr).orElse(""));
+        reporter().info(description + " → APR: " + apr + "%");
+        return apr;
     }
-}
\ No newline at end of file
+}
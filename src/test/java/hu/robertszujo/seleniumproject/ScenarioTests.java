@@ -0,0 +1,104 @@
+package hu.robertszujo.seleniumproject;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import hu.robertszujo.seleniumproject.cache.ResultCache;
+import hu.robertszujo.seleniumproject.constants.ScenarioConstants;
+import hu.robertszujo.seleniumproject.constants.ShardConstants;
+import hu.robertszujo.seleniumproject.context.TestSession;
+import hu.robertszujo.seleniumproject.context.TestSessions;
+import hu.robertszujo.seleniumproject.pages.CalculatorSnapshot;
+import hu.robertszujo.seleniumproject.pages.LoanCalculatorPage;
+import hu.robertszujo.seleniumproject.pages.components.CookiePopup;
+import hu.robertszujo.seleniumproject.scenario.LoanScenario;
+import hu.robertszujo.seleniumproject.scenario.ScenarioCase;
+import hu.robertszujo.seleniumproject.scenario.ScenarioFeed;
+import org.assertj.core.api.Assertions;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Listeners({TestListener.class, RoundTripBudgetListener.class, CachedResultListener.class, LongestFirstScheduler.class, ShardInterceptor.class})
+public class ScenarioTests extends BaseTestClass {
+
+    @DataProvider(name = "scenarios", parallel = true)
+    public Iterator<Object[]> scenarios() {
+        return new ScenarioFeed(ScenarioConstants.SCENARIO_FILES, ScenarioConstants.SCENARIO_QUEUE_CAPACITY, ShardConstants.SHARD);
+    }
+
+    @Test(dataProvider = "scenarios", description = "Data-driven calculator scenario")
+    public void calculatorScenario(ScenarioCase scenario) {
+        // Invocations run in parallel on the same instance, so nothing is kept in fields
+        TestSession session = session();
+        ExtentTest reporter = SuiteWideStorage.testReport.createTest("Scenario: " + scenario.name(), describe(scenario.input()));
+        session.setReporter(reporter);
+        session.setRoundTripBudget(scenario.roundTripBudget());
+
+        // In the incremental run mode a scenario that passed with the same inputs against the same page is not run again
+        ResultCache resultCache = SuiteWideStorage.resultCache;
+        if (resultCache != null) {
+            Optional<ResultCache.Entry> cached = resultCache.findGreen(scenario.cacheKey(), SuiteWideStorage.pageFingerprint);
+            if (cached.isPresent()) {
+                reporter.info(MarkupHelper.createTable(cached.get().outcome().entrySet().stream()
+                        .map(outcome -> new String[]{outcome.getKey(), String.valueOf(outcome.getValue())})
+                        .toArray(String[][]::new)));
+                throw new SkipException("Cached: passed against the same page on " + Instant.ofEpochMilli(cached.get().recordedAt()));
+            }
+        }
+
+        LoanCalculatorPage loanCalculatorPage = session.getPage(LoanCalculatorPage.class, LoanCalculatorPage::new);
+        loadPageAndHandleCookies(session.getDriver(), loanCalculatorPage, session.getPage(CookiePopup.class, CookiePopup::new));
+
+        loanCalculatorPage.fillForm(scenario.input());
+        loanCalculatorPage.clickCalculateLoanButton();
+        CalculatorSnapshot snapshot = loanCalculatorPage.takeSnapshot();
+
+        reporter.info(MarkupHelper.createTable(new String[][]{
+                {"Expected errors", String.valueOf(scenario.expectedErrors())},
+                {"Displayed errors", String.valueOf(snapshot.getDisplayedErrorMessages())},
+                {"Expected loan amount", scenario.expectsOffer() ? scenario.minLoanAmount() + " - " + scenario.maxLoanAmount() : "no offer"},
+                {"First offer", String.valueOf(snapshot.getFirstOffer().orElse(null))}
+        }));
+
+        List<String> mismatches = scenario.findMismatches(snapshot);
+        Assertions.assertThat(mismatches)
+                .as("Scenario '%s' should match its expected outcome", scenario.name())
+                .isEmpty();
+        session.recordCalculation(scenario.input(), snapshot, false);
+        reporter.pass("Scenario matched its expected outcome");
+    }
+
+    /**
+     * In the incremental run mode the outcome of a passed scenario is kept for the next runs.
+     * Runs after the listeners settled the outcome, e.g. failed it for exceeding its round trip budget.
+     */
+    @AfterMethod(alwaysRun = true)
+    public void afterMethod(ITestResult result) {
+        ResultCache resultCache = SuiteWideStorage.resultCache;
+        TestSession session = TestSessions.of(result);
+        if (resultCache == null || !result.isSuccess() || session == null) return;
+
+        ScenarioCase scenario = (ScenarioCase) result.getParameters()[0];
+        CalculatorSnapshot snapshot = session.getCalculations().get(scenario.input());
+        if (snapshot == null) return;
+        resultCache.recordGreen(scenario.cacheKey(), SuiteWideStorage.pageFingerprint, Map.of(
+                "Displayed errors", String.valueOf(snapshot.getDisplayedErrorMessages()),
+                "First offer", String.valueOf(snapshot.getFirstOffer().orElse(null))));
+    }
+
+    private String describe(LoanScenario input) {
+        return "Age " + input.age() + ", property " + input.propertyValue() + ", "
+                + (input.singleEarner() ? "single earner" : "multiple earners") + ", income " + input.monthlyIncome()
+                + ", existing repayment " + input.existingLoanRepayment() + ", bank credit " + input.bankAccountCredit()
+                + ", baby loan " + input.babyLoan() + ", insurance " + input.insurance();
+    }
+}
@@ -0,0 +1,164 @@
+package hu.robertszujo.seleniumproject;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import hu.robertszujo.seleniumproject.constants.SweepConstants;
+import hu.robertszujo.seleniumproject.constants.TestConstants;
+import hu.robertszujo.seleniumproject.context.TestSession;
+import hu.robertszujo.seleniumproject.pages.CalculatorSnapshot;
+import hu.robertszujo.seleniumproject.pages.LoanCalculatorPage;
+import hu.robertszujo.seleniumproject.pages.components.CookiePopup;
+import hu.robertszujo.seleniumproject.rules.LoanRules;
+import hu.robertszujo.seleniumproject.scenario.LoanScenario;
+import hu.robertszujo.seleniumproject.server.CalculatorTarget;
+import hu.robertszujo.seleniumproject.sweep.InBrowserSweep;
+import hu.robertszujo.seleniumproject.sweep.SweepResult;
+import org.assertj.core.api.Assertions;
+import org.testng.SkipException;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Listeners({TestListener.class, RoundTripBudgetListener.class, LongestFirstScheduler.class, ShardInterceptor.class})
+public class SweepTests extends BaseTestClass {
+
+    // Mismatches listed one by one in the report, the rest are only counted
+    private static final int REPORTED_MISMATCHES = 20;
+
+    /**
+     * Checks the validation of the page and the bound of its loan amount over a grid, through the page's own functions.
+     * On the local target this is a self-test of the stand-in: its rules are copies of LoanRules, agreeing with them
+     * says nothing about the real calculator. On the live page it needs {@code -Dsweep.accessor}, otherwise it is skipped.
+     * <p>
+     * Not part of the regression suite, it runs with {@code testng-self-test.xml}.
+     */
+    @Test(groups = "self-test", description = "Validation and loan bound of the page's calculation functions over an income × property value × repayment grid")
+    public void calculationGridFollowsLoanRules() {
+        boolean standIn = TestConstants.CALCULATOR_TARGET == CalculatorTarget.LOCAL;
+        TestSession session = session();
+        ExtentTest reporter = SuiteWideStorage.testReport.createTest(
+                standIn ? "Stand-in self-test: calculationGridFollowsLoanRules" : "calculationGridFollowsLoanRules",
+                standIn ? "Self-test of the synthetic stand-in page, no evidence about the real calculator"
+                        : "Validation and loan bound of the live page's calculation functions over an income × property value × repayment grid");
+        session.setReporter(reporter);
+
+        LoanCalculatorPage loanCalculatorPage = session.getPage(LoanCalculatorPage.class, LoanCalculatorPage::new);
+        loadPageAndHandleCookies(session.getDriver(), loanCalculatorPage, session.getPage(CookiePopup.class, CookiePopup::new));
+
+        InBrowserSweep sweep = new InBrowserSweep(session.getDriver(), SweepConstants.CALCULATOR_ACCESSOR);
+        if (!sweep.isAvailable()) {
+            throw new SkipException("'" + SweepConstants.CALCULATOR_ACCESSOR + "' gives no calculation functions on this page,"
+                    + " set -Dsweep.accessor to an expression that exposes them");
+        }
+
+        List<LoanScenario> grid = grid();
+        Set<Integer> sampleIndexes = new HashSet<>();
+        for (int i = 0; i < SweepConstants.UI_SAMPLE_SIZE; i++) {
+            sampleIndexes.add((int) ((long) i * grid.size() / SweepConstants.UI_SAMPLE_SIZE));
+        }
+
+        // Results are checked chunk by chunk as they come back, only the mismatches and the sample are kept
+        List<String> mismatches = new ArrayList<>();
+        List<SweepResult> sample = new ArrayList<>();
+        int[] evaluated = {0};
+        long start = System.nanoTime();
+        sweep.evaluate(grid, SweepConstants.CHUNK_SIZE, chunk -> {
+            for (SweepResult result : chunk) {
+                if (!result.matchesLoanRules()) {
+                    mismatches.add(result.input() + ": page gives validation " + result.validation() + ", loan " + result.maxLoanAmount()
+                            + ", LoanRules gives validation " + LoanRules.validate(result.input()) + ", loan at most " + LoanRules.maxLoanAmount(result.input()));
+                }
+                if (sampleIndexes.contains(evaluated[0])) sample.add(result);
+                evaluated[0]++;
+            }
+        });
+        Duration sweepDuration = Duration.ofNanos(System.nanoTime() - start);
+
+        reporter.info(MarkupHelper.createTable(new String[][]{
+                {"Input tuples", String.valueOf(evaluated[0])},
+                {"Script executions", String.valueOf((grid.size() + SweepConstants.CHUNK_SIZE - 1) / SweepConstants.CHUNK_SIZE)},
+                {"Sweep duration", sweepDuration.toMillis() + " ms"},
+                {"Accessor", SweepConstants.CALCULATOR_ACCESSOR},
+                {"Mismatches with LoanRules", String.valueOf(mismatches.size())}
+        }));
+        mismatches.stream().limit(REPORTED_MISMATCHES).forEach(reporter::fail);
+
+        // The form confirms a sample, so the functions called by the sweep are the ones the form really uses
+        for (SweepResult result : sample) {
+            loanCalculatorPage.resetForm();
+            loanCalculatorPage.fillForm(result.input());
+            loanCalculatorPage.clickCalculateLoanButton();
+            CalculatorSnapshot snapshot = loanCalculatorPage.takeSnapshot();
+            for (String mismatch : result.toScenarioCase("Sweep sample").findMismatches(snapshot)) {
+                String message = "Form differs from the sweep for " + result.input() + ": " + mismatch;
+                mismatches.add(message);
+                reporter.fail(message);
+            }
+        }
+
+        Assertions.assertThat(mismatches)
+                .as("Page calculation should follow LoanRules and match its own form")
+                .isEmpty();
+        reporter.pass(standIn
+                ? "Stand-in functions agree with LoanRules over " + evaluated[0] + " input tuples, " + sample.size()
+                        + " confirmed through its form. A self-test only, the real calculator was not involved"
+                : "Functions of the live page follow the LoanRules validation and loan bound over " + evaluated[0]
+                        + " input tuples, " + sample.size() + " confirmed through the form");
+    }
+
+    /**
+     * Both household types over income × property value × existing repayment, with the exact values of the income,
+     * property value and repayment limits. Age stays 30, its limits are checked by LoanCalculatorTests.
+     */
+    private List<LoanScenario> grid() {
+        Set<Integer> incomes = steps(100_000, 3_000_000, 50_000);
+        incomes.addAll(List.of((int) LoanRules.MIN_INCOME_SINGLE_EARNER - 1, (int) LoanRules.MIN_INCOME_SINGLE_EARNER,
+                (int) LoanRules.MIN_INCOME_MULTIPLE_EARNERS - 1, (int) LoanRules.MIN_INCOME_MULTIPLE_EARNERS));
+
+        // The property value limit and the value where 80% reaches the cap
+        int capPropertyValue = (int) Math.round(LoanRules.MAX_LOAN_AMOUNT / LoanRules.LOAN_TO_VALUE);
+        Set<Integer> propertyValues = steps(4_000_000, 100_000_000, 3_000_000);
+        propertyValues.addAll(List.of((int) LoanRules.MIN_PROPERTY_VALUE - 1, (int) LoanRules.MIN_PROPERTY_VALUE,
+                capPropertyValue - 1, capPropertyValue, capPropertyValue + 1));
+
+        List<LoanScenario> grid = new ArrayList<>();
+        for (boolean singleEarner : new boolean[]{true, false}) {
+            for (int income : incomes) {
+                for (int propertyValue : propertyValues) {
+                    for (int repayment : repayments(income)) {
+                        grid.add(new LoanScenario(30, propertyValue, singleEarner, income, repayment, true, false, true));
+                    }
+                }
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Regular steps plus the repayment threshold and both repayment limits of the income, each with the value above it
+     */
+    private Set<Integer> repayments(int income) {
+        Set<Integer> repayments = steps(0, 1_500_000, 50_000);
+        for (long limit : new long[]{LoanRules.REPAYMENT_THRESHOLD - 1,
+                (long) Math.floor(income * LoanRules.REPAYMENT_LIMIT_BELOW_THRESHOLD),
+                (long) Math.floor(income * LoanRules.REPAYMENT_LIMIT_FROM_THRESHOLD)}) {
+            repayments.add((int) limit);
+            repayments.add((int) limit + 1);
+        }
+        return repayments;
+    }
+
+    private Set<Integer> steps(int from, int to, int step) {
+        Set<Integer> values = new TreeSet<>();
+        for (int value = from; value <= to; value += step) {
+            values.add(value);
+        }
+        return values;
+    }
+}
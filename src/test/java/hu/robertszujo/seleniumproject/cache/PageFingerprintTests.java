@@ -0,0 +1,52 @@
+package hu.robertszujo.seleniumproject.cache;
+
+import hu.robertszujo.seleniumproject.utils.FakeScriptDriver;
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class PageFingerprintTests {
+
+    private static final List<String> MARKUP = List.of("<div class=\"content_hitelmaximum\"></div>", "<div id=\"nem_tudunk_kalkulalni\"></div>", "");
+    private static final Map<String, Object> SCRIPT = Map.of("path", "www.erstelakashitel.hu/js/kalkulator.js", "text", "var rate = 6.54;");
+
+    @Test(description = "The same page gives the same fingerprint, passing the script pattern to the page")
+    public void samePageSameFingerprint() {
+        String pattern = "^https?://cdn\\.example/";
+        String first = PageFingerprint.of(page(MARKUP, List.of("init();"), List.of(SCRIPT), pattern), pattern);
+        String second = PageFingerprint.of(page(MARKUP, List.of("init();"), List.of(SCRIPT), pattern), pattern);
+
+        Assertions.assertThat(first).isEqualTo(second).matches("[0-9a-f]{64}");
+    }
+
+    @Test(description = "A change of the markup, an inline script or an external script changes the fingerprint")
+    public void changesChangeTheFingerprint() {
+        String fingerprint = PageFingerprint.of(page(MARKUP, List.of("init();"), List.of(SCRIPT), ""), "");
+
+        Assertions.assertThat(PageFingerprint.of(page(List.of("<div></div>", "", ""), List.of("init();"), List.of(SCRIPT), ""), ""))
+                .isNotEqualTo(fingerprint);
+        Assertions.assertThat(PageFingerprint.of(page(MARKUP, List.of("init(true);"), List.of(SCRIPT), ""), ""))
+                .isNotEqualTo(fingerprint);
+        Assertions.assertThat(PageFingerprint.of(page(MARKUP, List.of("init();"),
+                        List.of(Map.of("path", SCRIPT.get("path"), "text", "var rate = 7.1;")), ""), ""))
+                .isNotEqualTo(fingerprint);
+    }
+
+    @Test(description = "Text moved from one part to the next changes the fingerprint")
+    public void partsAreSeparated() {
+        String joined = PageFingerprint.of(page(List.of("ab", ""), List.of(), List.of(), ""), "");
+        String split = PageFingerprint.of(page(List.of("a", "b"), List.of(), List.of(), ""), "");
+
+        Assertions.assertThat(joined).isNotEqualTo(split);
+    }
+
+    private static WebDriver page(List<String> markup, List<String> inlineScripts, List<Map<String, Object>> scripts, String expectedPattern) {
+        return FakeScriptDriver.of((script, args) -> {
+            Assertions.assertThat(args).containsExactly(expectedPattern);
+            return Map.of("markup", markup, "inlineScripts", inlineScripts, "scripts", scripts);
+        });
+    }
+}
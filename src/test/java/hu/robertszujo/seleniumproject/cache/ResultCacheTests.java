@@ -0,0 +1,83 @@
+package hu.robertszujo.seleniumproject.cache;
+
+import org.assertj.core.api.Assertions;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class ResultCacheTests {
+
+    private Path folder;
+    private Path file;
+
+    @BeforeMethod
+    public void createFolder() throws IOException {
+        folder = Files.createTempDirectory("result-cache");
+        file = folder.resolve("result-cache.json");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteFolder() throws IOException {
+        try (Stream<Path> files = Files.walk(folder)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test(description = "A green result of an earlier run is found only with the same fingerprint")
+    public void greenResultNeedsTheSameFingerprint() throws IOException {
+        ResultCache firstRun = ResultCache.load(file);
+        firstRun.recordGreen("scenario", "page-a", Map.of("First offer", "8 000 000 Ft"));
+        firstRun.save();
+
+        ResultCache secondRun = ResultCache.load(file);
+        Assertions.assertThat(secondRun.findGreen("scenario", "page-a"))
+                .hasValueSatisfying(entry -> Assertions.assertThat(entry.outcome()).containsEntry("First offer", "8 000 000 Ft"));
+        Assertions.assertThat(secondRun.findGreen("scenario", "page-b")).isEmpty();
+        Assertions.assertThat(secondRun.findGreen("other scenario", "page-a")).isEmpty();
+    }
+
+    @Test(description = "Results of the current run only count from the next run on")
+    public void currentRunIsNotCached() {
+        ResultCache cache = ResultCache.load(file);
+        cache.recordGreen("scenario", "page-a", Map.of());
+
+        Assertions.assertThat(cache.findGreen("scenario", "page-a")).isEmpty();
+    }
+
+    @Test(description = "A result a failed test depended on is not kept, whichever order the tests finished in")
+    public void failureWinsOverGreen() throws IOException {
+        ResultCache cache = ResultCache.load(file);
+        cache.recordGreen("passed first", "page-a", Map.of());
+        cache.recordFailure("passed first");
+        cache.recordFailure("failed first");
+        cache.recordGreen("failed first", "page-a", Map.of());
+        cache.recordGreen("only passed", "page-a", Map.of());
+        cache.save();
+
+        ResultCache nextRun = ResultCache.load(file);
+        Assertions.assertThat(nextRun.findGreen("passed first", "page-a")).isEmpty();
+        Assertions.assertThat(nextRun.findGreen("failed first", "page-a")).isEmpty();
+        Assertions.assertThat(nextRun.findGreen("only passed", "page-a")).isPresent();
+    }
+
+    @Test(description = "Shards saving into the same file keep each other's results")
+    public void savesMergeIntoTheFile() throws IOException {
+        ResultCache shard1 = ResultCache.load(file);
+        ResultCache shard2 = ResultCache.load(file);
+        shard1.recordGreen("scenario 1", "page-a", Map.of());
+        shard2.recordGreen("scenario 2", "page-a", Map.of());
+        shard1.save();
+        shard2.save();
+
+        ResultCache nextRun = ResultCache.load(file);
+        Assertions.assertThat(nextRun.findGreen("scenario 1", "page-a")).isPresent();
+        Assertions.assertThat(nextRun.findGreen("scenario 2", "page-a")).isPresent();
+    }
+}
@@ -0,0 +1,44 @@
+package hu.robertszujo.seleniumproject.cache;
+
+import hu.robertszujo.seleniumproject.pages.CalculatorSnapshot;
+import hu.robertszujo.seleniumproject.pages.CalculatorSnapshot.ErrorState;
+import hu.robertszujo.seleniumproject.pages.CalculatorSnapshot.FormError;
+import hu.robertszujo.seleniumproject.pages.CalculatorSnapshot.Offer;
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.json.Json;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class SnapshotJsonTests {
+
+    private static final Json JSON = new Json();
+
+    @Test(description = "A snapshot survives the round trip through the JSON file unchanged")
+    public void roundTripThroughJson() {
+        CalculatorSnapshot snapshot = new CalculatorSnapshot(
+                Map.of("eletkor", "30", "ingatlan_erteke", "10 000 000"),
+                Map.of("egy_ados", true, "tobb_ados", false),
+                Map.of(FormError.AGE, new ErrorState(false, ""),
+                        FormError.PROPERTY_VALUE, new ErrorState(true, "Minimum 5 000 000 Ft")),
+                true, true, false,
+                List.of(new Offer(1, true, "8 000 000 Ft", "95 000 Ft", "6,54"),
+                        new Offer(2, false, "", "", "")));
+
+        Map<String, Object> json = JSON.toType(JSON.toJson(SnapshotJson.toJson(snapshot)), Json.MAP_TYPE);
+
+        Assertions.assertThat(SnapshotJson.fromJson(json)).isEqualTo(snapshot);
+    }
+
+    @Test(description = "Missing texts, e.g. of an error element the page did not render, are kept as null")
+    public void nullTextsAreKept() {
+        CalculatorSnapshot snapshot = new CalculatorSnapshot(Map.of(), Map.of(),
+                Map.of(FormError.MONTHLY_INCOME, new ErrorState(false, null)),
+                false, false, true, List.of());
+
+        Map<String, Object> json = JSON.toType(JSON.toJson(SnapshotJson.toJson(snapshot)), Json.MAP_TYPE);
+
+        Assertions.assertThat(SnapshotJson.fromJson(json).errors().get(FormError.MONTHLY_INCOME).text()).isNull();
+    }
+}
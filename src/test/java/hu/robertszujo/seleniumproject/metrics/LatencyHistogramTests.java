@@ -0,0 +1,87 @@
+package hu.robertszujo.seleniumproject.metrics;
+
+import org.assertj.core.api.Assertions;
+import org.testng.annotations.Test;
+
+import java.util.stream.LongStream;
+
+public class LatencyHistogramTests {
+
+    @Test(description = "Values below 16 microseconds get a bucket of their own")
+    public void smallValuesAreExact() {
+        for (long value = 0; value < 16; value++) {
+            Assertions.assertThat(LatencyHistogram.bucketIndex(value)).isEqualTo((int) value);
+            Assertions.assertThat(LatencyHistogram.bucketUpperBound((int) value)).isEqualTo(value);
+        }
+    }
+
+    @Test(description = "Every value falls between the upper bound of the previous bucket and the upper bound of its own")
+    public void bucketsAreContiguous() {
+        LongStream.concat(LongStream.rangeClosed(1, 100_000), LongStream.of(1L << 40, (1L << 40) - 1, Long.MAX_VALUE))
+                .forEach(value -> {
+                    int index = LatencyHistogram.bucketIndex(value);
+                    Assertions.assertThat(LatencyHistogram.bucketUpperBound(index)).isGreaterThanOrEqualTo(value);
+                    Assertions.assertThat(LatencyHistogram.bucketUpperBound(index - 1)).isLessThan(value);
+                });
+    }
+
+    @Test(description = "The upper bound of a bucket is less than 7% above any value in it")
+    public void relativeErrorIsBounded() {
+        LongStream.rangeClosed(1, 1_000_000).forEach(value -> {
+            long upperBound = LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(value));
+            Assertions.assertThat((double) (upperBound - value) / value).isLessThan(0.07);
+        });
+    }
+
+    @Test(description = "A percentile is the upper bound of the bucket holding its rank")
+    public void percentilesOfUniformValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        LongStream.rangeClosed(1, 100).forEach(histogram::record);
+
+        // 50 shares the bucket 50..51, 99 the bucket 96..99, 1 is exact
+        Assertions.assertThat(histogram.getPercentileMicros(50)).isEqualTo(51);
+        Assertions.assertThat(histogram.getPercentileMicros(99)).isEqualTo(99);
+        Assertions.assertThat(histogram.getPercentileMicros(0)).isEqualTo(1);
+        Assertions.assertThat(histogram.getCount()).isEqualTo(100);
+        Assertions.assertThat(histogram.getSumMicros()).isEqualTo(5050);
+    }
+
+    @Test(description = "A percentile is never above the largest recorded value")
+    public void percentileIsCappedAtMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(100);
+
+        // 100 is in the bucket 100..103
+        Assertions.assertThat(histogram.getPercentileMicros(50)).isEqualTo(100);
+        Assertions.assertThat(histogram.getPercentileMicros(100)).isEqualTo(100);
+        Assertions.assertThat(histogram.getMaxMicros()).isEqualTo(100);
+    }
+
+    @Test(description = "An empty histogram reports zero, negative latencies count as zero")
+    public void emptyAndNegative() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assertions.assertThat(histogram.getPercentileMicros(99)).isZero();
+
+        histogram.record(-5);
+        Assertions.assertThat(histogram.getCount()).isEqualTo(1);
+        Assertions.assertThat(histogram.getPercentileMicros(99)).isZero();
+    }
+
+    @Test(description = "Merging adds the counts and sums and keeps the larger max")
+    public void mergeAddsUp() {
+        LatencyHistogram first = new LatencyHistogram();
+        LongStream.rangeClosed(1, 10).forEach(first::record);
+        LatencyHistogram second = new LatencyHistogram();
+        LongStream.of(1000, 2000).forEach(second::record);
+        LatencyHistogram merged = new LatencyHistogram();
+
+        first.mergeInto(merged);
+        second.mergeInto(merged);
+
+        Assertions.assertThat(merged.getCount()).isEqualTo(12);
+        Assertions.assertThat(merged.getSumMicros()).isEqualTo(55 + 3000);
+        Assertions.assertThat(merged.getMaxMicros()).isEqualTo(2000);
+        Assertions.assertThat(merged.getPercentileMicros(50)).isEqualTo(6);
+        Assertions.assertThat(merged.getPercentileMicros(100)).isEqualTo(2000);
+    }
+}
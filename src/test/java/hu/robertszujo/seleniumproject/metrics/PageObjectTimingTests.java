@@ -0,0 +1,59 @@
+package hu.robertszujo.seleniumproject.metrics;
+
+import com.aventstack.extentreports.ExtentTest;
+import hu.robertszujo.seleniumproject.pages.BasePageObject;
+import hu.robertszujo.seleniumproject.utils.FakeScriptDriver;
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+public class PageObjectTimingTests {
+
+    public static class FakePage extends BasePageObject {
+
+        public FakePage(WebDriver driver, ExtentTest reporter) {
+            super(driver, reporter);
+        }
+
+        public String fillForm() throws InterruptedException {
+            Thread.sleep(20);
+            return setAge() + " filled";
+        }
+
+        public String setAge() throws InterruptedException {
+            Thread.sleep(5);
+            return "age";
+        }
+
+        public void fail() {
+            throw new IllegalStateException("failed");
+        }
+    }
+
+    @Test(description = "Each page object method is timed as a whole, including the page object methods it calls")
+    public void timesWholeMethods() throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        FakePage page = new PageObjectTiming(recorder).create(FakePage.class, FakeScriptDriver.of((script, args) -> null), null);
+
+        Assertions.assertThat(page.fillForm()).isEqualTo("age filled");
+        page.setAge();
+
+        Map<String, LatencyHistogram> methods = recorder.summarize().get(LatencyRecorder.PAGE_OBJECT_METHODS);
+        Assertions.assertThat(methods).containsOnlyKeys("FakePage.fillForm", "FakePage.setAge");
+        Assertions.assertThat(methods.get("FakePage.fillForm").getCount()).isEqualTo(1);
+        Assertions.assertThat(methods.get("FakePage.fillForm").getMaxMicros()).isGreaterThanOrEqualTo(25_000);
+        Assertions.assertThat(methods.get("FakePage.setAge").getCount()).isEqualTo(2);
+        Assertions.assertThat(methods.get("FakePage.setAge").getMaxMicros()).isGreaterThanOrEqualTo(5_000);
+    }
+
+    @Test(description = "A failing page object method is timed and its exception reaches the caller unchanged")
+    public void timesFailures() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        FakePage page = new PageObjectTiming(recorder).create(FakePage.class, FakeScriptDriver.of((script, args) -> null), null);
+
+        Assertions.assertThatThrownBy(page::fail).isInstanceOf(IllegalStateException.class).hasMessage("failed");
+        Assertions.assertThat(recorder.summarize().get(LatencyRecorder.PAGE_OBJECT_METHODS).get("FakePage.fail").getCount()).isEqualTo(1);
+    }
+}
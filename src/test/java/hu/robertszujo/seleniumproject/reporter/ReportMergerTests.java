@@ -0,0 +1,90 @@
+package hu.robertszujo.seleniumproject.reporter;
+
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import hu.robertszujo.seleniumproject.utils.JsonFiles;
+import org.assertj.core.api.Assertions;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class ReportMergerTests {
+
+    private static final List<String> SUITE_METHODS = List.of("Tests.a", "Tests.b", "Tests.c");
+
+    private Path folder;
+
+    @BeforeMethod
+    public void createFolder() throws IOException {
+        folder = Files.createTempDirectory("report-merger");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteFolder() throws IOException {
+        try (Stream<Path> files = Files.walk(folder)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test(description = "Shards that ran every method exactly once merge into one report")
+    public void completeShardsMerge() throws IOException {
+        List<Path> eventLogs = List.of(shard(1, "Tests.a", "Tests.c"), shard(2, "Tests.b"));
+
+        ReportMerger.merge(eventLogs, reporter());
+
+        Assertions.assertThat(folder.resolve("Report_merged.html")).exists();
+    }
+
+    @Test(description = "A shard missing from the merge leaves its methods unrun, the merge fails")
+    public void missingShardIsRejected() throws IOException {
+        List<Path> eventLogs = List.of(shard(1, "Tests.a", "Tests.c"));
+
+        Assertions.assertThatThrownBy(() -> ReportMerger.merge(eventLogs, reporter()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Tests.b ran in no shard");
+    }
+
+    @Test(description = "A shard that did not finish has no method list, the merge fails")
+    public void unfinishedShardIsRejected() throws IOException {
+        Path unfinished = folder.resolve("Report_x_shard-2-of-2.jsonl");
+        Files.createFile(unfinished);
+        List<Path> eventLogs = List.of(shard(1, "Tests.a", "Tests.c"), unfinished);
+
+        Assertions.assertThatThrownBy(() -> ReportMerger.merge(eventLogs, reporter()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("the shard did not finish");
+    }
+
+    @Test(description = "A method run by two shards fails the merge")
+    public void overlappingShardsAreRejected() throws IOException {
+        List<Path> eventLogs = List.of(shard(1, "Tests.a", "Tests.b"), shard(2, "Tests.b", "Tests.c"));
+
+        Assertions.assertThatThrownBy(() -> ReportMerger.merge(eventLogs, reporter()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Tests.b ran in [shard 1 of 2, shard 2 of 2]");
+    }
+
+    /**
+     * @return Empty event log of the shard, with the method list ShardInterceptor writes next to it
+     */
+    private Path shard(int number, String... ranMethods) throws IOException {
+        Path eventLog = folder.resolve("Report_x_shard-" + number + "-of-2.jsonl");
+        Files.createFile(eventLog);
+        JsonFiles.update(ReportMerger.methodsFileOf(eventLog), content -> {
+            content.put("shard", "shard " + number + " of 2");
+            content.put("suiteMethods", SUITE_METHODS);
+            content.put("ranMethods", List.of(ranMethods));
+        });
+        return eventLog;
+    }
+
+    private ExtentSparkReporter reporter() {
+        return new ExtentSparkReporter(folder.resolve("Report_merged.html").toFile());
+    }
+}
@@ -0,0 +1,65 @@
+package hu.robertszujo.seleniumproject.rules;
+
+import hu.robertszujo.seleniumproject.scenario.LoanScenario;
+import org.assertj.core.api.Assertions;
+import org.testng.annotations.Test;
+
+public class LoanRulesTests {
+
+    private static final LoanScenario VALID_SCENARIO = new LoanScenario(30, 30000000, false, 600000, 0, true, false, true);
+
+    @Test(description = "Age limits: 18 and 65 are accepted, 17 and 66 are not")
+    public void ageBoundaries() {
+        Assertions.assertThat(LoanRules.validate(VALID_SCENARIO.withAge(17))).isEqualTo(LoanRules.AGE_ERROR);
+        Assertions.assertThat(LoanRules.validate(VALID_SCENARIO.withAge(18))).isEqualTo(LoanRules.VALID);
+        Assertions.assertThat(LoanRules.validate(VALID_SCENARIO.withAge(65))).isEqualTo(LoanRules.VALID);
+        Assertions.assertThat(LoanRules.validate(VALID_SCENARIO.withAge(66))).isEqualTo(LoanRules.AGE_ERROR);
+    }
+
+    @Test(description = "Property value minimum is 5,000,000")
+    public void propertyValueBoundary() {
+        Assertions.assertThat(LoanRules.validate(VALID_SCENARIO.withPropertyValue(4999999))).isEqualTo(LoanRules.PROPERTY_VALUE_ERROR);
+        Assertions.assertThat(LoanRules.validate(VALID_SCENARIO.withPropertyValue(5000000))).isEqualTo(LoanRules.VALID);
+    }
+
+    @Test(description = "Income minimum depends on the number of earners")
+    public void incomeBoundaries() {
+        LoanScenario singleEarner = VALID_SCENARIO.withSingleEarner(true);
+        Assertions.assertThat(LoanRules.validate(singleEarner.withMonthlyIncome(192999))).isEqualTo(LoanRules.MONTHLY_INCOME_ERROR);
+        Assertions.assertThat(LoanRules.validate(singleEarner.withMonthlyIncome(193000))).isEqualTo(LoanRules.VALID);
+        Assertions.assertThat(LoanRules.validate(VALID_SCENARIO.withMonthlyIncome(289999))).isEqualTo(LoanRules.MONTHLY_INCOME_ERROR);
+        Assertions.assertThat(LoanRules.validate(VALID_SCENARIO.withMonthlyIncome(290000))).isEqualTo(LoanRules.VALID);
+    }
+
+    @Test(description = "Existing repayments may take 50% of the income below 800,000 and 60% from 800,000")
+    public void repaymentLimits() {
+        LoanScenario income1M = VALID_SCENARIO.withMonthlyIncome(1000000);
+        Assertions.assertThat(LoanRules.validate(income1M.withExistingLoanRepayment(500000))).isEqualTo(LoanRules.VALID);
+        Assertions.assertThat(LoanRules.validate(income1M.withExistingLoanRepayment(510000))).isEqualTo(LoanRules.EXISTING_LOAN_REPAYMENT_ERROR);
+
+        LoanScenario income2M = VALID_SCENARIO.withMonthlyIncome(2000000);
+        Assertions.assertThat(LoanRules.validate(income2M.withExistingLoanRepayment(1200000))).isEqualTo(LoanRules.VALID);
+        Assertions.assertThat(LoanRules.validate(income2M.withExistingLoanRepayment(1220000))).isEqualTo(LoanRules.EXISTING_LOAN_REPAYMENT_ERROR);
+    }
+
+    @Test(description = "Maximum loan is limited by 80% LTV and the 48.3M cap")
+    public void maxLoanLimits() {
+        Assertions.assertThat(LoanRules.maxLoanAmount(VALID_SCENARIO.withPropertyValue(5500000))).isEqualTo(4400000);
+        Assertions.assertThat(LoanRules.maxLoanAmount(VALID_SCENARIO.withPropertyValue(10000000))).isEqualTo(8000000);
+        Assertions.assertThat(LoanRules.maxLoanAmount(VALID_SCENARIO.withPropertyValue(300000000))).isEqualTo(LoanRules.MAX_LOAN_AMOUNT);
+        Assertions.assertThat(LoanRules.maxLoanAmount(VALID_SCENARIO.withAge(17))).isEqualTo(LoanRules.NOT_AVAILABLE);
+    }
+
+    @Test(description = "Maximum loan around the property value minimum and where 80% LTV reaches the cap")
+    public void maxLoanBoundaries() {
+        long capReachedAt = 60375000;
+        Assertions.assertThat(capReachedAt * LoanRules.LOAN_TO_VALUE).isEqualTo(LoanRules.MAX_LOAN_AMOUNT);
+
+        Assertions.assertThat(LoanRules.maxLoanAmount(VALID_SCENARIO.withPropertyValue((int) LoanRules.MIN_PROPERTY_VALUE - 1))).isEqualTo(LoanRules.NOT_AVAILABLE);
+        Assertions.assertThat(LoanRules.maxLoanAmount(VALID_SCENARIO.withPropertyValue((int) LoanRules.MIN_PROPERTY_VALUE))).isEqualTo(4000000);
+        Assertions.assertThat(LoanRules.maxLoanAmount(capReachedAt - 1)).isEqualTo(48299999);
+        Assertions.assertThat(LoanRules.maxLoanAmount(capReachedAt)).isEqualTo(LoanRules.MAX_LOAN_AMOUNT);
+        Assertions.assertThat(LoanRules.maxLoanAmount(capReachedAt + 1)).isEqualTo(LoanRules.MAX_LOAN_AMOUNT);
+        Assertions.assertThat(LoanRules.maxLoanAmount(2000000000)).isEqualTo(LoanRules.MAX_LOAN_AMOUNT);
+    }
+}
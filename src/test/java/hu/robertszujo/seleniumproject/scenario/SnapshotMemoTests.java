@@ -0,0 +1,81 @@
+package hu.robertszujo.seleniumproject.scenario;
+
+import hu.robertszujo.seleniumproject.pages.CalculatorSnapshot;
+import org.assertj.core.api.Assertions;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SnapshotMemoTests {
+
+    private static final LoanScenario SCENARIO = new LoanScenario(30, 30000000, false, 600000, 0, true, false, true);
+    private static final CalculatorSnapshot SNAPSHOT = new CalculatorSnapshot(Map.of(), Map.of(), Map.of(), true, true, false, List.of());
+
+    @Test(description = "A scenario is calculated once, later requests get the memoized snapshot")
+    public void calculatesOnce() {
+        SnapshotMemo memo = new SnapshotMemo();
+        AtomicInteger calculations = new AtomicInteger();
+
+        SnapshotMemo.Result first = memo.get(SCENARIO, scenario -> {
+            calculations.incrementAndGet();
+            return SNAPSHOT;
+        });
+        SnapshotMemo.Result second = memo.get(SCENARIO, scenario -> {
+            calculations.incrementAndGet();
+            return SNAPSHOT;
+        });
+
+        Assertions.assertThat(first.memoized()).isFalse();
+        Assertions.assertThat(second.memoized()).isTrue();
+        Assertions.assertThat(second.snapshot()).isSameAs(SNAPSHOT);
+        Assertions.assertThat(calculations).hasValue(1);
+    }
+
+    @Test(description = "A thread waiting on a failed calculation calculates the scenario itself", timeOut = 10000)
+    public void waiterRecalculatesAfterFailure() throws Exception {
+        SnapshotMemo memo = new SnapshotMemo();
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch failFirst = new CountDownLatch(1);
+        AtomicInteger calculations = new AtomicInteger();
+
+        CompletableFuture<SnapshotMemo.Result> failing = CompletableFuture.supplyAsync(() -> memo.get(SCENARIO, scenario -> {
+            calculations.incrementAndGet();
+            firstStarted.countDown();
+            await(failFirst);
+            throw new IllegalStateException("Browser session broke");
+        }));
+        Assertions.assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<SnapshotMemo.Result> waiting = CompletableFuture.supplyAsync(() -> memo.get(SCENARIO, scenario -> {
+            calculations.incrementAndGet();
+            return SNAPSHOT;
+        }));
+        // The second thread cannot finish while the first one owns the calculation
+        Thread.sleep(100);
+        Assertions.assertThat(waiting).isNotDone();
+        failFirst.countDown();
+
+        SnapshotMemo.Result result = waiting.get(5, TimeUnit.SECONDS);
+        Assertions.assertThat(result.snapshot()).isSameAs(SNAPSHOT);
+        Assertions.assertThat(result.memoized()).isFalse();
+        Assertions.assertThat(calculations).hasValue(2);
+        Assertions.assertThatThrownBy(failing::join).hasRootCauseInstanceOf(IllegalStateException.class);
+
+        // The successful calculation is kept for everyone else
+        Assertions.assertThat(memo.get(SCENARIO, scenario -> null).memoized()).isTrue();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
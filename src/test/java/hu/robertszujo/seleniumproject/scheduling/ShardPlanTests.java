@@ -0,0 +1,77 @@
+package hu.robertszujo.seleniumproject.scheduling;
+
+import org.assertj.core.api.Assertions;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+public class ShardPlanTests {
+
+    private static final List<String> METHODS = IntStream.range(0, 40).mapToObj(i -> "Tests.method" + i).toList();
+
+    @Test(description = "The longest method goes to the shard with the least work so far")
+    public void longestFirstBalancesDuration() {
+        Map<String, Long> durations = Map.of("a", 100L, "b", 90L, "c", 50L, "d", 40L, "e", 10L);
+        List<String> methods = List.of("e", "d", "c", "b", "a");
+
+        // a → 1, b → 2, c → 2, d → 1, e → 1 on the tie, the lowest shard number
+        Assertions.assertThat(ShardPlan.methodsOf(new Shard(1, 2), methods, durations)).containsExactlyInAnyOrder("a", "d", "e");
+        Assertions.assertThat(ShardPlan.methodsOf(new Shard(2, 2), methods, durations)).containsExactlyInAnyOrder("b", "c");
+    }
+
+    @Test(description = "Methods without a recorded duration count as average and still spread over the shards")
+    public void unknownMethodsSpread() {
+        List<Set<String>> shards = split(3, shard -> ShardPlan.methodsOf(shard, METHODS, Map.of()));
+
+        shards.forEach(methods -> Assertions.assertThat(methods).hasSizeBetween(13, 14));
+    }
+
+    @Test(description = "Every method runs in exactly one shard, by duration and by name")
+    public void completeAndDisjoint() {
+        Map<String, Long> durations = Map.of("Tests.method1", 5000L, "Tests.method2", 20L, "Tests.method7", 700L);
+        assertCompleteAndDisjoint(split(3, shard -> ShardPlan.methodsOf(shard, METHODS, durations)));
+        assertCompleteAndDisjoint(split(3, shard -> ShardPlan.methodsByName(shard, METHODS)));
+        assertCompleteAndDisjoint(split(1, shard -> ShardPlan.methodsOf(shard, METHODS, durations)));
+    }
+
+    @Test(description = "Shard ordinals are split round robin")
+    public void shardContainsRoundRobin() {
+        Shard second = new Shard(2, 3);
+        Assertions.assertThat(LongStream.range(0, 7).filter(second::contains).boxed().toList()).containsExactly(1L, 4L);
+        Assertions.assertThat(Shard.NONE.contains(12345)).isTrue();
+        Assertions.assertThat(Shard.NONE.isSharded()).isFalse();
+    }
+
+    @Test(description = "Shard numbers outside 1..count are rejected")
+    public void invalidShard() {
+        Assertions.assertThatThrownBy(() -> new Shard(0, 2)).isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> new Shard(3, 2)).isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> new Shard(1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<Set<String>> split(int count, Function<Shard, Set<String>> plan) {
+        List<Set<String>> shards = new ArrayList<>();
+        for (int number = 1; number <= count; number++) {
+            shards.add(plan.apply(new Shard(number, count)));
+        }
+        return shards;
+    }
+
+    private static void assertCompleteAndDisjoint(List<Set<String>> shards) {
+        Set<String> all = new HashSet<>();
+        int total = 0;
+        for (Set<String> methods : shards) {
+            all.addAll(methods);
+            total += methods.size();
+        }
+        Assertions.assertThat(all).containsExactlyInAnyOrderElementsOf(METHODS);
+        Assertions.assertThat(total).as("A method was planned for more than one shard").isEqualTo(METHODS.size());
+    }
+}
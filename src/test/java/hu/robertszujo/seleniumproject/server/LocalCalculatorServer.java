@@ -0,0 +1,132 @@
+package hu.robertszujo.seleniumproject.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process HTTP server that serves the synthetic stand-in of the calculator page and its static assets from the classpath,
+ * so the suite does not depend on the public site or on network access.
+ * The stand-in only mirrors the markup and form behaviour of the real page, its loan calculation is invented.
+ */
+public class LocalCalculatorServer {
+
+    public static final String SITE_ROOT = "calculator-site";
+    private static final String INDEX_FILE = "index.html";
+
+    private static final Map<String, String> CONTENT_TYPES = Map.ofEntries(
+            Map.entry("html", "text/html; charset=UTF-8"),
+            Map.entry("js", "application/javascript; charset=UTF-8"),
+            Map.entry("css", "text/css; charset=UTF-8"),
+            Map.entry("json", "application/json; charset=UTF-8"),
+            Map.entry("svg", "image/svg+xml"),
+            Map.entry("png", "image/png"),
+            Map.entry("jpg", "image/jpeg"),
+            Map.entry("gif", "image/gif"),
+            Map.entry("ico", "image/x-icon"),
+            Map.entry("woff", "font/woff"),
+            Map.entry("woff2", "font/woff2"));
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    // Assets never change during a run, so each one is read from the classpath only once
+    private final Map<String, Optional<byte[]>> assets = new ConcurrentHashMap<>();
+
+    private LocalCalculatorServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts the server on a free loopback port
+     * @throws IllegalStateException if there is no stand-in page on the classpath
+     */
+    public static LocalCalculatorServer start() throws IOException {
+        if (LocalCalculatorServer.class.getClassLoader().getResource(SITE_ROOT + "/" + INDEX_FILE) == null) {
+            throw new IllegalStateException("No stand-in calculator page found on the classpath at " + SITE_ROOT + "/" + INDEX_FILE);
+        }
+
+        HttpServer httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()), runnable -> {
+            Thread thread = new Thread(runnable, "local-calculator-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        LocalCalculatorServer localServer = new LocalCalculatorServer(httpServer, executor);
+        httpServer.createContext("/", localServer::handle);
+        httpServer.setExecutor(executor);
+        httpServer.start();
+        return localServer;
+    }
+
+    /**
+     * @return Base URL of the server, ending with a slash
+     */
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getAddress().getHostAddress() + ":" + server.getAddress().getPort() + "/";
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            if (path.endsWith("/")) path += INDEX_FILE;
+            if (path.contains("..")) {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+
+            Optional<byte[]> asset = assets.computeIfAbsent(path, this::readAsset);
+            if (asset.isEmpty()) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            byte[] body = asset.get();
+            exchange.getResponseHeaders().set("Content-Type", contentTypeOf(path));
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            if ("HEAD".equals(method)) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private Optional<byte[]> readAsset(String path) {
+        try (InputStream in = LocalCalculatorServer.class.getClassLoader().getResourceAsStream(SITE_ROOT + path)) {
+            return in == null ? Optional.empty() : Optional.of(in.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read stand-in asset: " + path, e);
+        }
+    }
+
+    private String contentTypeOf(String path) {
+        String extension = path.substring(path.lastIndexOf('.') + 1).toLowerCase();
+        return CONTENT_TYPES.getOrDefault(extension, "application/octet-stream");
+    }
+}
@@ -0,0 +1,64 @@
+package hu.robertszujo.seleniumproject.sweep;
+
+import hu.robertszujo.seleniumproject.rules.LoanRules;
+import hu.robertszujo.seleniumproject.scenario.LoanScenario;
+import hu.robertszujo.seleniumproject.utils.FakeScriptDriver;
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+public class InBrowserSweepTests {
+
+    private static final String ACCESSOR = "window.HitelKalkulator";
+
+    @Test(description = "Inputs are sent in chunks of the given size, one script execution each, and come back in order")
+    @SuppressWarnings("unchecked")
+    public void evaluatesInChunks() {
+        List<Integer> chunkSizesSent = new ArrayList<>();
+        // The fake page answers every tuple with its property value as the loan amount
+        WebDriver driver = FakeScriptDriver.of((script, args) -> {
+            Assertions.assertThat(args[0]).isEqualTo(ACCESSOR);
+            Assertions.assertThat((Map<String, Integer>) args[1]).containsEntry("age", LoanRules.AGE_ERROR)
+                    .containsEntry("existingLoanRepayment", LoanRules.EXISTING_LOAN_REPAYMENT_ERROR);
+            List<List<Object>> tuples = (List<List<Object>>) args[2];
+            chunkSizesSent.add(tuples.size());
+            return tuples.stream().map(tuple -> List.<Number>of(0L, ((Integer) tuple.get(1)).longValue())).toList();
+        });
+        List<LoanScenario> inputs = IntStream.range(0, 5)
+                .mapToObj(i -> new LoanScenario(30, 5000000 + i, false, 600000, 0, true, false, true))
+                .toList();
+
+        List<List<SweepResult>> chunks = new ArrayList<>();
+        new InBrowserSweep(driver, ACCESSOR).evaluate(inputs, 2, chunks::add);
+
+        Assertions.assertThat(chunkSizesSent).containsExactly(2, 2, 1);
+        Assertions.assertThat(chunks).hasSize(3);
+        List<SweepResult> results = chunks.stream().flatMap(List::stream).toList();
+        Assertions.assertThat(results).extracting(SweepResult::input).containsExactlyElementsOf(inputs);
+        Assertions.assertThat(results).extracting(SweepResult::maxLoanAmount)
+                .containsExactly(5000000L, 5000001L, 5000002L, 5000003L, 5000004L);
+    }
+
+    @Test(description = "No inputs, no script executions")
+    public void emptyInputs() {
+        WebDriver driver = FakeScriptDriver.of((script, args) -> {
+            throw new AssertionError("No script should run");
+        });
+        List<List<SweepResult>> chunks = new ArrayList<>();
+        new InBrowserSweep(driver, ACCESSOR).evaluate(List.of(), 100, chunks::add);
+
+        Assertions.assertThat(chunks).isEmpty();
+    }
+
+    @Test(description = "The sweep is available only if the page says the accessor gives both functions")
+    public void availability() {
+        Assertions.assertThat(new InBrowserSweep(FakeScriptDriver.of((script, args) -> true), ACCESSOR).isAvailable()).isTrue();
+        Assertions.assertThat(new InBrowserSweep(FakeScriptDriver.of((script, args) -> false), ACCESSOR).isAvailable()).isFalse();
+        Assertions.assertThat(new InBrowserSweep(FakeScriptDriver.of((script, args) -> null), ACCESSOR).isAvailable()).isFalse();
+    }
+}
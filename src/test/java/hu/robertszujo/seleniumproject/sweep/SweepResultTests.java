@@ -0,0 +1,50 @@
+package hu.robertszujo.seleniumproject.sweep;
+
+import hu.robertszujo.seleniumproject.pages.CalculatorSnapshot.FormError;
+import hu.robertszujo.seleniumproject.rules.LoanRules;
+import hu.robertszujo.seleniumproject.scenario.LoanScenario;
+import hu.robertszujo.seleniumproject.scenario.ScenarioCase;
+import org.assertj.core.api.Assertions;
+import org.testng.annotations.Test;
+
+import java.util.Set;
+
+public class SweepResultTests {
+
+    private static final LoanScenario VALID_SCENARIO = new LoanScenario(30, 10000000, false, 600000, 0, true, false, true);
+
+    @Test(description = "An offer within the LoanRules bound matches, one above it does not")
+    public void loanAmountBound() {
+        Assertions.assertThat(new SweepResult(VALID_SCENARIO, LoanRules.VALID, 8000000).matchesLoanRules()).isTrue();
+        Assertions.assertThat(new SweepResult(VALID_SCENARIO, LoanRules.VALID, 5000000).matchesLoanRules()).isTrue();
+        Assertions.assertThat(new SweepResult(VALID_SCENARIO, LoanRules.VALID, 8000001).matchesLoanRules()).isFalse();
+    }
+
+    @Test(description = "A valid input without an offer does not match, so a page that never offers a loan is caught")
+    public void validInputNeedsAnOffer() {
+        Assertions.assertThat(new SweepResult(VALID_SCENARIO, LoanRules.VALID, LoanRules.NOT_AVAILABLE).matchesLoanRules()).isFalse();
+    }
+
+    @Test(description = "An invalid input matches with the same error flags and no offer only")
+    public void invalidInput() {
+        LoanScenario tooYoung = VALID_SCENARIO.withAge(17);
+        Assertions.assertThat(new SweepResult(tooYoung, LoanRules.AGE_ERROR, LoanRules.NOT_AVAILABLE).matchesLoanRules()).isTrue();
+        Assertions.assertThat(new SweepResult(tooYoung, LoanRules.VALID, 8000000).matchesLoanRules()).isFalse();
+        Assertions.assertThat(new SweepResult(tooYoung, LoanRules.AGE_ERROR | LoanRules.PROPERTY_VALUE_ERROR, LoanRules.NOT_AVAILABLE)
+                .matchesLoanRules()).isFalse();
+        Assertions.assertThat(new SweepResult(tooYoung, LoanRules.AGE_ERROR, 8000000).matchesLoanRules()).isFalse();
+    }
+
+    @Test(description = "The outcome becomes a scenario expecting the same errors and exactly the same loan")
+    public void toScenarioCase() {
+        ScenarioCase offer = new SweepResult(VALID_SCENARIO, LoanRules.VALID, 8000000).toScenarioCase("sample");
+        Assertions.assertThat(offer.expectedErrors()).isEmpty();
+        Assertions.assertThat(offer.minLoanAmount()).isEqualTo(8000000);
+        Assertions.assertThat(offer.maxLoanAmount()).isEqualTo(8000000);
+
+        ScenarioCase rejected = new SweepResult(VALID_SCENARIO.withAge(17).withPropertyValue(4999999),
+                LoanRules.AGE_ERROR | LoanRules.PROPERTY_VALUE_ERROR, LoanRules.NOT_AVAILABLE).toScenarioCase("sample");
+        Assertions.assertThat(rejected.expectedErrors()).isEqualTo(Set.of(FormError.AGE, FormError.PROPERTY_VALUE));
+        Assertions.assertThat(rejected.expectsOffer()).isFalse();
+    }
+}
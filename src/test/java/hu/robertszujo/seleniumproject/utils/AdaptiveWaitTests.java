@@ -0,0 +1,106 @@
+package hu.robertszujo.seleniumproject.utils;
+
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+public class AdaptiveWaitTests {
+
+    private static final AdaptiveWait WAIT = AdaptiveWait.DEFAULT
+            .withTimeout(Duration.ofSeconds(2))
+            .withPolling(Duration.ofMillis(10), Duration.ofMillis(500), 2);
+
+    @Test(description = "A condition that is already true costs a single check and no sleep")
+    public void trueConditionChecksOnce() {
+        FakeClock clock = new FakeClock();
+        int[] checks = {0};
+
+        String value = WAIT.until(null, driver -> ++checks[0] > 0 ? "ready" : null, clock::now, clock::sleep);
+
+        Assertions.assertThat(value).isEqualTo("ready");
+        Assertions.assertThat(checks[0]).isEqualTo(1);
+        Assertions.assertThat(clock.sleptMillis).isEmpty();
+    }
+
+    @Test(description = "The pause starts at 10 ms and doubles up to the 500 ms cap")
+    public void pauseBacksOffToTheCap() {
+        FakeClock clock = new FakeClock();
+
+        Boolean value = WAIT.until(null, trueOnCheck(9), clock::now, clock::sleep);
+
+        Assertions.assertThat(value).isTrue();
+        Assertions.assertThat(clock.sleptMillis).containsExactly(10L, 20L, 40L, 80L, 160L, 320L, 500L, 500L);
+    }
+
+    @Test(description = "The wait gives up at the timeout, the last pause only sleeps what is left of it")
+    public void timesOut() {
+        FakeClock clock = new FakeClock();
+
+        Assertions.assertThatThrownBy(() -> WAIT.until(null, driver -> false, clock::now, clock::sleep))
+                .isInstanceOf(TimeoutException.class)
+                .hasMessageContaining("tried for 2000 ms, 10 checks");
+        // 10 + 20 + 40 + 80 + 160 + 320 + 500 + 500 = 1630, so 370 ms are left for the last pause
+        Assertions.assertThat(clock.sleptMillis).containsExactly(10L, 20L, 40L, 80L, 160L, 320L, 500L, 500L, 370L);
+    }
+
+    @Test(description = "Ignored exceptions count as not yet, the last one is the cause of the timeout")
+    public void ignoredExceptionsAreRetried() {
+        FakeClock clock = new FakeClock();
+        NoSuchElementException missing = new NoSuchElementException("not rendered yet");
+
+        Assertions.assertThatThrownBy(() -> WAIT.until(null, driver -> {
+                    throw missing;
+                }, clock::now, clock::sleep))
+                .isInstanceOf(TimeoutException.class)
+                .hasCause(missing);
+    }
+
+    @Test(description = "Any other exception ends the wait right away")
+    public void otherExceptionsEndTheWait() {
+        FakeClock clock = new FakeClock();
+        AdaptiveWait wait = WAIT.withIgnoredExceptions(Set.of());
+
+        Assertions.assertThatThrownBy(() -> wait.until(null, driver -> {
+                    throw new NoSuchElementException("not rendered yet");
+                }, clock::now, clock::sleep))
+                .isInstanceOf(NoSuchElementException.class);
+        Assertions.assertThat(clock.sleptMillis).isEmpty();
+    }
+
+    @Test(description = "A backoff factor below 1 would shrink the pause and is rejected")
+    public void backoffFactorBelowOne() {
+        Assertions.assertThatThrownBy(() -> WAIT.withPolling(Duration.ofMillis(10), Duration.ofMillis(500), 0.5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Function<WebDriver, Boolean> trueOnCheck(int check) {
+        int[] checks = {0};
+        return driver -> ++checks[0] >= check;
+    }
+
+    /**
+     * Time only passes while the wait sleeps
+     */
+    private static class FakeClock {
+
+        private long nanos;
+        private final List<Long> sleptMillis = new ArrayList<>();
+
+        private long now() {
+            return nanos;
+        }
+
+        private void sleep(long sleepNanos) {
+            nanos += sleepNanos;
+            sleptMillis.add(Duration.ofNanos(sleepNanos).toMillis());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package hu.robertszujo.seleniumproject.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.Proxy;
+import java.util.function.BiFunction;
+
+/**
+ * WebDriver for unit tests of code that only talks to the page through scripts, no browser needed
+ */
+public final class FakeScriptDriver {
+
+    private FakeScriptDriver() {
+    }
+
+    /**
+     * @param scripts Answers {@code executeScript} and {@code executeAsyncScript} calls from the script and its arguments
+     * @return Driver that is also a {@link JavascriptExecutor}, every other call throws UnsupportedOperationException
+     */
+    public static WebDriver of(BiFunction<String, Object[], Object> scripts) {
+        return (WebDriver) Proxy.newProxyInstance(FakeScriptDriver.class.getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "executeScript", "executeAsyncScript" -> scripts.apply((String) args[0], (Object[]) args[1]);
+                    case "toString" -> "FakeScriptDriver";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
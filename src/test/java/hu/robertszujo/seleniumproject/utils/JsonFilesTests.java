@@ -0,0 +1,72 @@
+package hu.robertszujo.seleniumproject.utils;
+
+import org.assertj.core.api.Assertions;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class JsonFilesTests {
+
+    private Path folder;
+
+    @BeforeMethod
+    public void createFolder() throws IOException {
+        folder = Files.createTempDirectory("json-files");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteFolder() throws IOException {
+        try (Stream<Path> files = Files.walk(folder)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test(description = "A missing or broken file reads as an empty object")
+    public void missingOrBrokenFileIsEmpty() throws IOException {
+        Path file = folder.resolve("history.json");
+        Assertions.assertThat(JsonFiles.read(file)).isEmpty();
+
+        Files.writeString(file, "{\"half\": ", StandardCharsets.UTF_8);
+        Assertions.assertThat(JsonFiles.read(file)).isEmpty();
+    }
+
+    @Test(description = "An update keeps what the file already had")
+    public void updateMergesIntoTheFile() throws IOException {
+        Path file = folder.resolve("nested").resolve("history.json");
+        JsonFiles.update(file, content -> content.put("first", 1));
+        JsonFiles.update(file, content -> content.put("second", "two"));
+
+        Assertions.assertThat(JsonFiles.read(file))
+                .containsEntry("first", 1L)
+                .containsEntry("second", "two")
+                .hasSize(2);
+    }
+
+    @Test(description = "Concurrent updates of the same file are never lost")
+    public void concurrentUpdatesAreNotLost() {
+        Path file = folder.resolve("history.json");
+        List<CompletableFuture<Void>> updates = IntStream.range(0, 20)
+                .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                    try {
+                        JsonFiles.update(file, content -> content.put("key" + i, i));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }))
+                .toList();
+        updates.forEach(CompletableFuture::join);
+
+        Assertions.assertThat(JsonFiles.read(file)).hasSize(20);
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Validation and calculation logic of the synthetic stand-in calculator page.
+ * The validation limits, the 80% loan-to-value and the 48.3M cap are the ones the regression suite asserts
+ * against the live page. The income based repayment capacity and the rounding are invented for the stand-in,
+ * the real calculator's formula is not known.
+ */
+(function () {
+    'use strict';
+
+    var RULES = {
+        minAge: 18,
+        maxAge: 65,
+        minPropertyValue: 5000000,
+        minIncomeSingleEarner: 193000,
+        minIncomeMultipleEarners: 290000,
+        repaymentThreshold: 800000,
+        repaymentLimitBelowThreshold: 0.5,
+        repaymentLimitFromThreshold: 0.6,
+        loanToValue: 0.8,
+        maxLoanAmount: 48300000,
+        loanRounding: 100000,
+        // Repayment capacity is stressed at 5% annual interest over 30 years
+        capacityMonthlyRate: 0.05 / 12,
+        capacityMonths: 360,
+        offerMonths: 240
+    };
+
+    var OFFERS = [
+        { box: 1, apr: 6.99 },
+        { box: 2, apr: 6.49 }
+    ];
+
+    var MESSAGES = {
+        ageTooLow: 'Hitelt kizárólag 18. életévüket betöltött személyek igényelhetnek.',
+        ageTooHigh: 'Hitelt legfeljebb 65 éves korig igényelhet.',
+        property: 'Az ingatlan értéke legalább 5 000 000 Ft kell legyen.',
+        incomeSingle: 'Egyedül keresőként a havi nettó jövedelem legalább 193 000 Ft kell legyen.',
+        incomeMultiple: 'Több kereső esetén a havi nettó jövedelem legalább 290 000 Ft kell legyen.',
+        repayment: 'A meglévő törlesztőrészletek meghaladják a jövedelem megengedett arányát.'
+    };
+
+    var byId = function (id) { return document.getElementById(id); };
+
+    var annuityFactor = function (monthlyRate, months) {
+        return (1 - Math.pow(1 + monthlyRate, -months)) / monthlyRate;
+    };
+
+    var repaymentLimitRatio = function (existingRepayment) {
+        return existingRepayment >= RULES.repaymentThreshold
+            ? RULES.repaymentLimitFromThreshold
+            : RULES.repaymentLimitBelowThreshold;
+    };
+
+    /**
+     * @returns {{age: string, propertyValue: string, monthlyIncome: string, existingLoanRepayment: string}}
+     *          error message per field, empty string when the field is valid
+     */
+    var validate = function (input) {
+        var errors = { age: '', propertyValue: '', monthlyIncome: '', existingLoanRepayment: '' };
+
+        if (input.age < RULES.minAge) errors.age = MESSAGES.ageTooLow;
+        else if (input.age > RULES.maxAge) errors.age = MESSAGES.ageTooHigh;
+
+        if (input.propertyValue < RULES.minPropertyValue) errors.propertyValue = MESSAGES.property;
+
+        if (input.singleEarner && input.monthlyIncome < RULES.minIncomeSingleEarner) {
+            errors.monthlyIncome = MESSAGES.incomeSingle;
+        } else if (!input.singleEarner && input.monthlyIncome < RULES.minIncomeMultipleEarners) {
+            errors.monthlyIncome = MESSAGES.incomeMultiple;
+        }
+
+        if (input.existingLoanRepayment > input.monthlyIncome * repaymentLimitRatio(input.existingLoanRepayment)) {
+            errors.existingLoanRepayment = MESSAGES.repayment;
+        }
+        return errors;
+    };
+
+    var discountedApr = function (baseApr, input) {
+        var apr = baseApr;
+        if (input.bankAccountCredit) apr -= 0.5;
+        if (input.insurance) apr -= 0.3;
+        return Math.round(apr * 100) / 100;
+    };
+
+    /**
+     * @returns {{available: boolean, maxLoanAmount: number, offers: Array}} result of a valid input
+     */
+    var calculate = function (input) {
+        // Existing repayments count at 90%, so a valid input leaves room for an offer even at the repayment limit
+        var installment = input.monthlyIncome * repaymentLimitRatio(input.existingLoanRepayment) - input.existingLoanRepayment * 0.9;
+        var byIncome = Math.floor(installment * annuityFactor(RULES.capacityMonthlyRate, RULES.capacityMonths) / RULES.loanRounding) * RULES.loanRounding;
+        var byValue = Math.floor(input.propertyValue * RULES.loanToValue);
+        var maxLoanAmount = Math.min(byIncome, byValue, RULES.maxLoanAmount);
+
+        if (maxLoanAmount <= 0) {
+            return { available: false, maxLoanAmount: 0, offers: [] };
+        }
+
+        return {
+            available: true,
+            maxLoanAmount: maxLoanAmount,
+            offers: OFFERS.map(function (offer) {
+                var apr = discountedApr(offer.apr, input);
+                var monthlyRate = apr / 100 / 12;
+                return {
+                    box: offer.box,
+                    maxLoanAmount: maxLoanAmount,
+                    monthlyRepayment: Math.round(maxLoanAmount / annuityFactor(monthlyRate, RULES.offerMonths)),
+                    apr: apr
+                };
+            })
+        };
+    };
+
+    // *** Page wiring ***
+
+    var numberValue = function (id) {
+        return parseInt(String(byId(id).value).replace(/[^0-9]/g, ''), 10) || 0;
+    };
+
+    var readForm = function () {
+        return {
+            age: numberValue('meletkor'),
+            propertyValue: numberValue('ingatlan_erteke'),
+            singleEarner: byId('egyedul').checked,
+            monthlyIncome: numberValue('mjovedelem'),
+            existingLoanRepayment: numberValue('meglevo_torleszto'),
+            bankAccountCredit: byId('kedvezmeny_jovairasm').checked,
+            babyLoan: byId('kedvezmeny_babavarom').checked,
+            insurance: byId('kedvezmeny_biztositasm').checked
+        };
+    };
+
+    var ERROR_ELEMENTS = {
+        age: 'eletkor_error',
+        propertyValue: 'ingatlan_erteke_error',
+        monthlyIncome: 'mjovedelem_error',
+        existingLoanRepayment: 'meglevo_torleszto_error'
+    };
+
+    var FIELD_INPUTS = {
+        age: 'meletkor',
+        propertyValue: 'ingatlan_erteke',
+        monthlyIncome: 'mjovedelem',
+        existingLoanRepayment: 'meglevo_torleszto'
+    };
+
+    // Only fields the user already filled in are validated, like on the live page
+    var showErrors = function (fields) {
+        var errors = validate(readForm());
+        fields.forEach(function (field) {
+            var filled = byId(FIELD_INPUTS[field]).value !== '';
+            byId(ERROR_ELEMENTS[field]).textContent = filled ? errors[field] : '';
+        });
+        return errors;
+    };
+
+    var formatAmount = function (amount) {
+        return String(amount).replace(/\B(?=(\d{3})+(?!\d))/g, ' ') + ' Ft';
+    };
+
+    var show = function (id, visible) { byId(id).classList.toggle('hidden', !visible); };
+
+    var onCalculate = function () {
+        var allFields = Object.keys(FIELD_INPUTS);
+        var errors = showErrors(allFields);
+        var invalid = allFields.some(function (field) {
+            return errors[field] !== '' || byId(FIELD_INPUTS[field]).value === '';
+        });
+        if (invalid) return;
+
+        var result = calculate(readForm());
+        show('nem_tudunk_kalkulalni', !result.available);
+        show('max_eredmeny', result.available);
+        result.offers.forEach(function (offer) {
+            byId('box_' + offer.box + '_max_desktop').textContent = formatAmount(offer.maxLoanAmount);
+            byId('box_' + offer.box + '_torleszto').textContent = formatAmount(offer.monthlyRepayment);
+            byId('box_' + offer.box + '_thm').textContent = offer.apr.toFixed(2).replace('.', ',');
+        });
+    };
+
+    var onRecalculate = function () {
+        show('nem_tudunk_kalkulalni', false);
+        show('max_eredmeny', false);
+    };
+
+    Object.keys(FIELD_INPUTS).forEach(function (field) {
+        var input = byId(FIELD_INPUTS[field]);
+        var revalidate = function () {
+            // Income changes move the repayment limit, so both are validated together
+            showErrors(field === 'monthlyIncome' ? ['monthlyIncome', 'existingLoanRepayment'] : [field]);
+        };
+        input.addEventListener('change', revalidate);
+        input.addEventListener('blur', revalidate);
+    });
+    ['egyedul', 'tobben'].forEach(function (id) {
+        byId(id).addEventListener('change', function () { showErrors(['monthlyIncome']); });
+    });
+    document.querySelector('.mennyit_kaphatok').addEventListener('click', onCalculate);
+    Array.prototype.forEach.call(document.querySelectorAll('.ujrakalkulal'), function (button) {
+        button.addEventListener('click', onRecalculate);
+    });
+
+    // *** Cookie consent banner ***
+
+    var CONSENT_COOKIE = 'TC_PRIVACY';
+
+    var hasConsent = function () {
+        return document.cookie.split(';').some(function (cookie) {
+            return cookie.trim().indexOf(CONSENT_COOKIE + '=') === 0;
+        });
+    };
+
+    byId('popin_tc_privacy_button').addEventListener('click', function () {
+        var expires = new Date(Date.now() + 365 * 24 * 3600 * 1000).toUTCString();
+        document.cookie = CONSENT_COOKIE + '=0@001%7C1%7C1%7C1@@1@' + Date.now() + '; path=/; expires=' + expires;
+        document.cookie = 'TC_PRIVACY_CENTER=1; path=/; expires=' + expires;
+        show('popin_tc_privacy', false);
+    });
+
+    // The consent manager is loaded asynchronously on the live page as well
+    if (!hasConsent()) {
+        setTimeout(function () { show('popin_tc_privacy', true); }, 300);
+    }
+
+    window.HitelKalkulator = { rules: RULES, validate: validate, calculate: calculate };
+})();